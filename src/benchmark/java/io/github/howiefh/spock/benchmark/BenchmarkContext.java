@@ -0,0 +1,133 @@
+/*
+ * @(#)BenchmarkContext 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.benchmark;
+
+import com.github.fppt.jedismock.RedisServer;
+import io.github.howiefh.spock.Application;
+import io.github.howiefh.spock.dao.UserDao;
+import io.github.howiefh.spock.domain.User;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试使用的应用上下文.
+ * <p>
+ * 与 Spock 测试相同，使用内存 H2（h2、sqlinit 配置）和 jedis-mock，不依赖外部服务，结果可以离线复现。
+ * 不启动 Web 服务器，jedis-mock 监听 application.yml 中配置的 redis 端口。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public class BenchmarkContext implements AutoCloseable {
+    public static final int REDIS_PORT = 6379;
+
+    private final RedisServer redisServer;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkContext(RedisServer redisServer, ConfigurableApplicationContext context) {
+        this.redisServer = redisServer;
+        this.context = context;
+    }
+
+    public static BenchmarkContext start(String... properties) throws IOException {
+        return start(WebApplicationType.NONE, new Class<?>[0], properties);
+    }
+
+    /**
+     * 启动 jedis-mock 和应用
+     *
+     * @param webApplicationType Web 应用类型，压测时需要启动 Web 服务器
+     * @param sources            除 {@link Application} 外额外注册的配置类
+     * @param properties         覆盖的配置，格式为 key=value
+     * @return
+     * @throws IOException
+     */
+    public static BenchmarkContext start(WebApplicationType webApplicationType, Class<?>[] sources, String... properties) throws IOException {
+        RedisServer redisServer = RedisServer.newRedisServer(REDIS_PORT);
+        redisServer.start();
+        try {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                    .sources(sources)
+                    .web(webApplicationType)
+                    .profiles("h2", "sqlinit")
+                    .properties("logging.level.root=WARN")
+                    .properties(properties)
+                    .run();
+            return new BenchmarkContext(redisServer, context);
+        } catch (RuntimeException e) {
+            redisServer.stop();
+            throw e;
+        }
+    }
+
+    public ConfigurableApplicationContext getContext() {
+        return context;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * 写入 count 个用户，用户编号为 prefix 加序号
+     *
+     * @param prefix    用户编号前缀
+     * @param count     用户数
+     * @param batchSize 每次 saveAll 的条数
+     */
+    public void seedUsers(String prefix, int count, int batchSize) {
+        UserDao userDao = getBean(UserDao.class);
+        List<User> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < count; i++) {
+            batch.add(newUser(prefix + i));
+            if (batch.size() == batchSize) {
+                userDao.saveAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            userDao.saveAll(batch);
+        }
+    }
+
+    public static User newUser(String userNo) {
+        User user = new User();
+        user.setUserNo(userNo);
+        user.setUserName("压测用户");
+        user.setGender(userNo.hashCode() % 2 == 0 ? User.MALE : User.FEMALE);
+        user.setCreatedBy("benchmark");
+        user.setModifiedBy("benchmark");
+        user.init();
+        return user;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            redisServer.stop();
+        }
+    }
+}
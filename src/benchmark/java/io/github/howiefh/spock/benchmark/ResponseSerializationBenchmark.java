@@ -0,0 +1,107 @@
+/*
+ * @(#)ResponseSerializationBenchmark 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.howiefh.spock.domain.PageInfo;
+import io.github.howiefh.spock.domain.Response;
+import io.github.howiefh.spock.domain.User;
+import io.github.howiefh.spock.facade.dto.DataResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Response}、{@link DataResponse} JSON 序列化基准测试.
+ * <p>
+ * ObjectMapper 与 Spring MVC 默认使用的配置相同，不需要启动应用上下文。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private Response<User> userResponse;
+    private DataResponse<String> registerResponse;
+    private Response<PageInfo<User>> pageResponse;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        userResponse = Response.ok(newUser("jack"));
+        registerResponse = DataResponse.ok("子虚乌有");
+        List<User> items = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            items.add(newUser("user" + i));
+        }
+        PageInfo<User> pageInfo = new PageInfo<>();
+        pageInfo.setPageNum(1);
+        pageInfo.setPageSize(PAGE_SIZE);
+        pageInfo.setTotal(1000);
+        pageInfo.setHasNext(true);
+        pageInfo.setItems(items);
+        pageResponse = Response.ok(pageInfo);
+    }
+
+    @Benchmark
+    public byte[] userResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userResponse);
+    }
+
+    @Benchmark
+    public byte[] registerResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(registerResponse);
+    }
+
+    @Benchmark
+    public byte[] pageResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    private static User newUser(String userNo) {
+        User user = BenchmarkContext.newUser(userNo);
+        user.setId((long) userNo.hashCode());
+        user.setCreatedDate(new Date(1700000000000L));
+        user.setModifiedDate(new Date(1700000000000L));
+        return user;
+    }
+}
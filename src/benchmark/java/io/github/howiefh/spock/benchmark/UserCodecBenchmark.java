@@ -0,0 +1,108 @@
+/*
+ * @(#)UserCodecBenchmark 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.benchmark;
+
+import io.github.howiefh.spock.cache.UserRedisSerializer;
+import io.github.howiefh.spock.domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户缓存编解码基准测试，对比二进制编码、JDK 序列化与 JSON 序列化.
+ * <p>
+ * 编码后的字节数在 Setup 阶段打印，与耗时一起作为选型依据。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserCodecBenchmark {
+    private UserRedisSerializer binarySerializer;
+    private JdkSerializationRedisSerializer jdkSerializer;
+    private GenericJackson2JsonRedisSerializer jsonSerializer;
+    private User user;
+    private byte[] binaryBytes;
+    private byte[] jdkBytes;
+    private byte[] jsonBytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        binarySerializer = new UserRedisSerializer();
+        jdkSerializer = new JdkSerializationRedisSerializer();
+        jsonSerializer = new GenericJackson2JsonRedisSerializer();
+        user = BenchmarkContext.newUser("jack");
+        user.setId(1L);
+        user.setCreatedDate(new Date(1700000000000L));
+        user.setModifiedDate(new Date(1700000000000L));
+        binaryBytes = binarySerializer.serialize(user);
+        jdkBytes = jdkSerializer.serialize(user);
+        jsonBytes = jsonSerializer.serialize(user);
+        System.out.printf("user bytes: binary=%d, jdk=%d, json=%d%n", binaryBytes.length, jdkBytes.length,
+                jsonBytes.length);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return binarySerializer.serialize(user);
+    }
+
+    @Benchmark
+    public Object binaryDecode() {
+        return binarySerializer.deserialize(binaryBytes);
+    }
+
+    @Benchmark
+    public byte[] jdkEncode() {
+        return jdkSerializer.serialize(user);
+    }
+
+    @Benchmark
+    public Object jdkDecode() {
+        return jdkSerializer.deserialize(jdkBytes);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return jsonSerializer.serialize(user);
+    }
+
+    @Benchmark
+    public Object jsonDecode() {
+        return jsonSerializer.deserialize(jsonBytes);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * @(#)UserDaoBenchmark 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.benchmark;
+
+import io.github.howiefh.spock.dao.UserDao;
+import io.github.howiefh.spock.domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserDao#saveAll(Iterable)} 不同批量大小的基准测试.
+ * <p>
+ * 每次调用写入 {@value #USERS_PER_INVOCATION} 个新用户，按 batchSize 分批 saveAll，
+ * 结果为单个用户的平均写入耗时。每轮迭代结束后删除写入的用户，表大小保持稳定。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDaoBenchmark {
+    private static final int USERS_PER_INVOCATION = 1000;
+
+    @Param({"1", "10", "100", "500"})
+    private int batchSize;
+
+    private BenchmarkContext context;
+    private UserDao userDao;
+    private JdbcTemplate jdbcTemplate;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        context = BenchmarkContext.start();
+        userDao = context.getBean(UserDao.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteUsers() {
+        jdbcTemplate.update("DELETE FROM sys_user WHERE created_by = 'benchmark'");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS_PER_INVOCATION)
+    public int saveAll() {
+        int rows = 0;
+        List<User> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < USERS_PER_INVOCATION; i++) {
+            batch.add(BenchmarkContext.newUser("b" + sequence++));
+            if (batch.size() == batchSize) {
+                rows += userDao.saveAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            rows += userDao.saveAll(batch);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * @(#)UserPageBenchmark 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.benchmark;
+
+import io.github.howiefh.spock.domain.PageInfo;
+import io.github.howiefh.spock.domain.User;
+import io.github.howiefh.spock.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserService#queryUserByPage(PageInfo, User)} 基准测试.
+ * <p>
+ * 预先写入 20000 个用户，按不同页码分页，观察 OFFSET 增大后的耗时变化。
+ * 每组参数在独立的 fork 中运行，内存数据库不会在参数之间共享。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserPageBenchmark {
+    private static final int USERS = 20000;
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * 页码，pageSize 为 20 时分别对应 OFFSET 0、2000、19980
+     */
+    @Param({"1", "101", "1000"})
+    private int pageNum;
+
+    private BenchmarkContext context;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        context = BenchmarkContext.start();
+        context.seedUsers("bench", USERS, 500);
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+    }
+
+    @Benchmark
+    public PageInfo<User> queryUserByPage() {
+        PageInfo<User> pageInfo = new PageInfo<>();
+        pageInfo.setPageNum(pageNum);
+        pageInfo.setPageSize(PAGE_SIZE);
+        return userService.queryUserByPage(pageInfo, new User());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * @(#)UserRegisterBenchmark 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.benchmark;
+
+import io.github.howiefh.spock.benchmark.load.StubAuthServer;
+import io.github.howiefh.spock.domain.User;
+import io.github.howiefh.spock.service.UserService;
+import io.github.howiefh.spock.util.VirtualThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 并发注册吞吐量基准测试，对比平台线程池和虚拟线程.
+ * <p>
+ * 认证服务桩固定延迟 20ms，平台线程池大小模拟 Tomcat 的请求线程数，每次调用并发注册 {@value #REGISTRATIONS} 个新用户。
+ * 运行环境不支持虚拟线程时 virtual 退化为平台线程池。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class UserRegisterBenchmark {
+    private static final int REGISTRATIONS = 400;
+    private static final int PLATFORM_THREADS = 20;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private StubAuthServer authServer;
+    private BenchmarkContext context;
+    private UserService userService;
+    private ExecutorService executor;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        authServer = new StubAuthServer(Duration.ofMillis(20));
+        context = BenchmarkContext.start("spock.rpc.auth.base-url=" + authServer.getBaseUrl(),
+                "spock.rpc.auth.cache.enabled=false");
+        userService = context.getBean(UserService.class);
+        executor = "virtual".equals(threads) && VirtualThreads.isSupported()
+                ? VirtualThreads.newVirtualThreadPerTaskExecutor("register-")
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        context.close();
+        authServer.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTRATIONS)
+    public int register() throws InterruptedException, ExecutionException {
+        List<Callable<String>> tasks = new ArrayList<>(REGISTRATIONS);
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            User user = BenchmarkContext.newUser("register-" + threads + "-" + sequence.incrementAndGet());
+            tasks.add(() -> userService.registerUser(user));
+        }
+        int registered = 0;
+        for (Future<String> future : executor.invokeAll(tasks)) {
+            if (future.get() != null) {
+                registered++;
+            }
+        }
+        return registered;
+    }
+}
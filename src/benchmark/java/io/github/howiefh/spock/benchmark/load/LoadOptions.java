@@ -0,0 +1,136 @@
+/*
+ * @(#)LoadOptions 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.benchmark.load;
+
+import lombok.Data;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 压测参数，命令行参数格式为 key=value.
+ * <p>
+ * 以 spring. 或 spock. 开头的参数作为应用配置传入，例如 spock.threads.virtual=true。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Data
+public class LoadOptions {
+    /**
+     * 每秒发出的请求数，按固定间隔发出，不等待之前的请求完成
+     */
+    private int rate = 500;
+    /**
+     * 统计时长，不包含预热
+     */
+    private Duration duration = Duration.ofSeconds(60);
+    /**
+     * 预热时长，预热期间的请求不计入结果
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+    /**
+     * 各类请求的权重
+     */
+    private Map<RequestType, Integer> mix = parseMix("register:10,get:70,page:20");
+    /**
+     * 启动前写入的用户数，查询请求从中随机选择
+     */
+    private int users = 10000;
+    /**
+     * 认证服务桩的响应延迟
+     */
+    private Duration authLatency = Duration.ofMillis(5);
+    /**
+     * 同时等待响应的最大请求数，超出时丢弃并计为丢弃
+     */
+    private int maxInFlight = 5000;
+    private Duration timeout = Duration.ofSeconds(5);
+    /**
+     * 延迟分布文件的输出目录
+     */
+    private String output = "target/load";
+    /**
+     * 应用配置
+     */
+    private List<String> properties = new ArrayList<>();
+
+    public static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            int index = arg.indexOf('=');
+            if (index <= 0) {
+                throw new IllegalArgumentException("参数格式应为 key=value: " + arg);
+            }
+            String key = arg.substring(0, index);
+            String value = arg.substring(index + 1);
+            if (key.startsWith("spring.") || key.startsWith("spock.")) {
+                options.properties.add(arg);
+                continue;
+            }
+            switch (key) {
+                case "rate" -> options.rate = Integer.parseInt(value);
+                case "duration" -> options.duration = DurationStyle.detectAndParse(value);
+                case "warmup" -> options.warmup = DurationStyle.detectAndParse(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "users" -> options.users = Integer.parseInt(value);
+                case "authLatency" -> options.authLatency = DurationStyle.detectAndParse(value);
+                case "maxInFlight" -> options.maxInFlight = Integer.parseInt(value);
+                case "timeout" -> options.timeout = DurationStyle.detectAndParse(value);
+                case "output" -> options.output = value;
+                default -> throw new IllegalArgumentException("未知参数: " + key);
+            }
+        }
+        if (options.rate <= 0 || options.mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("rate 和 mix 的权重之和必须大于 0");
+        }
+        return options;
+    }
+
+    /**
+     * 解析请求权重，格式为 register:10,get:70,page:20
+     */
+    private static Map<RequestType, Integer> parseMix(String value) {
+        Map<RequestType, Integer> mix = new EnumMap<>(RequestType.class);
+        for (String item : value.split(",")) {
+            String[] pair = item.trim().split(":");
+            mix.put(RequestType.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    public enum RequestType {
+        /**
+         * POST /users
+         */
+        REGISTER,
+        /**
+         * GET /users/{userNo}
+         */
+        GET,
+        /**
+         * GET /users/cursor
+         */
+        PAGE
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * @(#)LoadRunner 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.benchmark.load;
+
+import io.github.howiefh.spock.benchmark.BenchmarkContext;
+import io.github.howiefh.spock.benchmark.load.LoadOptions.RequestType;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 开环压测.
+ * <p>
+ * 启动 jedis-mock、认证服务桩和使用内存 H2 的应用，按固定速率混合发出注册、查询和分页请求。
+ * 请求按计划时间发出，不等待之前的请求完成，延迟从计划发出时间开始计算，服务变慢时排队的时间也计入延迟，
+ * 避免协调遗漏（coordinated omission）低估尾部延迟。结束后输出各类请求的吞吐量和延迟分位数，
+ * 并将 HdrHistogram 分布写入 output 目录，可以用 HdrHistogram 的绘图工具比较多次压测的结果。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public class LoadRunner {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String SEED_PREFIX = "load-user-";
+
+    private final LoadOptions options;
+    private final HttpClient httpClient;
+    private final ExecutorService clientExecutor;
+    private final Semaphore inFlight;
+    private final Map<RequestType, Stats> stats = new EnumMap<>(RequestType.class);
+    private final RequestType[] types;
+    private final int[] cumulativeWeights;
+    private final AtomicLong registerSequence = new AtomicLong();
+    private String baseUrl;
+
+    public LoadRunner(LoadOptions options) {
+        this.options = options;
+        this.clientExecutor = Executors.newCachedThreadPool();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.getTimeout())
+                .executor(clientExecutor)
+                .build();
+        this.inFlight = new Semaphore(options.getMaxInFlight());
+        List<RequestType> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<RequestType, Integer> entry : options.getMix().entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                weighted.add(entry.getKey());
+                cumulative.add(total);
+                stats.put(entry.getKey(), new Stats());
+            }
+        }
+        this.types = weighted.toArray(new RequestType[0]);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        try (StubAuthServer authServer = new StubAuthServer(options.getAuthLatency())) {
+            List<String> properties = new ArrayList<>();
+            properties.add("server.port=0");
+            properties.add("spock.rpc.auth.base-url=" + authServer.getBaseUrl());
+            properties.addAll(options.getProperties());
+            try (BenchmarkContext context = BenchmarkContext.start(WebApplicationType.SERVLET,
+                    new Class<?>[]{LoginIdFilterConfiguration.class}, properties.toArray(new String[0]))) {
+                context.seedUsers(SEED_PREFIX, options.getUsers(), 500);
+                int port = ((WebServerApplicationContext) context.getContext()).getWebServer().getPort();
+                LoadRunner runner = new LoadRunner(options);
+                runner.run("http://127.0.0.1:" + port);
+                runner.report(System.out);
+                runner.writeHistograms(Paths.get(options.getOutput()));
+            }
+        }
+    }
+
+    /**
+     * 按固定间隔发出请求，预热和统计阶段结束后等待剩余请求完成
+     *
+     * @param baseUrl 应用地址
+     * @throws InterruptedException
+     */
+    public void run(String baseUrl) throws InterruptedException {
+        this.baseUrl = baseUrl;
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.getWarmup().toNanos();
+        long end = measureFrom + options.getDuration().toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            RequestType type = nextType();
+            boolean measured = intended >= measureFrom;
+            Stats typeStats = stats.get(type);
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    typeStats.dropped.increment();
+                }
+                continue;
+            }
+            httpClient.sendAsync(newRequest(type), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, e) -> {
+                        inFlight.release();
+                        if (measured) {
+                            boolean ok = e == null && response.statusCode() == 200 && response.body().contains("\"code\":200");
+                            typeStats.record(System.nanoTime() - intended, ok);
+                        }
+                    });
+        }
+        inFlight.tryAcquire(options.getMaxInFlight(), options.getTimeout().toMillis() * 2, TimeUnit.MILLISECONDS);
+        clientExecutor.shutdown();
+    }
+
+    private RequestType nextType() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return types[i];
+            }
+        }
+        return types[types.length - 1];
+    }
+
+    private HttpRequest newRequest(RequestType type) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(options.getTimeout());
+        switch (type) {
+            case REGISTER -> builder.uri(URI.create(baseUrl + "/users"))
+                    .header("Content-Type", "application/json")
+                    .header(LoginIdFilterConfiguration.LOGIN_ID_HEADER, "load-register-" + registerSequence.incrementAndGet())
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"invitorNo\":\"1234\"}"));
+            case GET -> builder.uri(URI.create(baseUrl + "/users/" + SEED_PREFIX + random.nextInt(Math.max(1, options.getUsers()))))
+                    .GET();
+            case PAGE -> builder.uri(URI.create(baseUrl + "/users/cursor?pageSize=20"
+                            + (random.nextInt(10) == 0 ? "" : "&afterId=" + (1 + random.nextInt(Math.max(1, options.getUsers()))))))
+                    .GET();
+        }
+        return builder.build();
+    }
+
+    public void report(PrintStream out) {
+        double seconds = options.getDuration().toNanos() / 1e9;
+        out.printf("%nrate=%d/s, duration=%s, warmup=%s, mix=%s%n", options.getRate(), options.getDuration(),
+                options.getWarmup(), options.getMix());
+        out.printf("%-10s %10s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+                "type", "requests", "errors", "dropped", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        Stats total = new Stats();
+        stats.forEach((type, typeStats) -> {
+            print(out, type.name().toLowerCase(), typeStats, seconds);
+            total.add(typeStats);
+        });
+        print(out, "total", total, seconds);
+    }
+
+    private static void print(PrintStream out, String name, Stats stats, double seconds) {
+        Histogram histogram = stats.histogram;
+        out.printf("%-10s %10d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(),
+                stats.errors.sum(), stats.dropped.sum(), histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI, histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI, histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    /**
+     * 输出各类请求的延迟分布，单位毫秒
+     *
+     * @param directory 输出目录
+     * @throws IOException
+     */
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<RequestType, Stats> entry : stats.entrySet()) {
+            Path file = directory.resolve(entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+                entry.getValue().histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    private static class Stats {
+        /**
+         * 包含失败请求的延迟，失败请求同样占用了调用方的等待时间
+         */
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        private void record(long latencyNanos, boolean ok) {
+            histogram.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        private void add(Stats other) {
+            histogram.add(other.histogram);
+            errors.add(other.errors.sum());
+            dropped.add(other.dropped.sum());
+        }
+    }
+}
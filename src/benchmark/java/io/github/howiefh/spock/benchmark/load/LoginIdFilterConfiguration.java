@@ -0,0 +1,59 @@
+/*
+ * @(#)LoginIdFilterConfiguration 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.benchmark.load;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 压测使用的登录过滤器，从请求头 X-Login-Id 读取登录 id，代替网关设置的登录信息.
+ * <p>
+ * 不加 {@code @Configuration}，避免被应用的组件扫描加载，只在压测启动时作为配置类传入。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public class LoginIdFilterConfiguration {
+    public static final String LOGIN_ID_HEADER = "X-Login-Id";
+    private static final String LOGIN_ID_ATTRIBUTE = "login_id_attribute";
+
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> loginIdFilter() {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                    throws ServletException, IOException {
+                String loginId = request.getHeader(LOGIN_ID_HEADER);
+                if (loginId != null) {
+                    request.setAttribute(LOGIN_ID_ATTRIBUTE, loginId);
+                }
+                filterChain.doFilter(request, response);
+            }
+        });
+        registration.addUrlPatterns("/users/*", "/users");
+        return registration;
+    }
+}
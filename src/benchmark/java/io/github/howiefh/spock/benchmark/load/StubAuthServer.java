@@ -0,0 +1,108 @@
+/*
+ * @(#)StubAuthServer 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.benchmark.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 认证服务桩，所有登录 id 都返回已认证，响应前等待固定延迟.
+ * <p>
+ * 提供 /users/auth 和 /users/auth/batch 两个接口，与 UserAuthRpc 调用的远程接口相同。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public class StubAuthServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+
+    public StubAuthServer(Duration latency) throws IOException {
+        this.latencyMillis = latency.toMillis();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/users/auth/batch", exchange -> {
+            StringBuilder data = new StringBuilder("{");
+            for (String loginId : queryParameter(exchange, "loginIds").split(",")) {
+                if (data.length() > 1) {
+                    data.append(',');
+                }
+                data.append('"').append(loginId).append("\":\"").append(authName(loginId)).append('"');
+            }
+            respond(exchange, data.append('}').toString());
+        });
+        server.createContext("/users/auth", exchange ->
+                respond(exchange, '"' + authName(queryParameter(exchange, "loginId")) + '"'));
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static String authName(String loginId) {
+        return "认证-" + loginId;
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.startsWith(name + "=")) {
+                    return URLDecoder.decode(pair.substring(name.length() + 1), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return "";
+    }
+
+    private void respond(HttpExchange exchange, String data) throws IOException {
+        if (latencyMillis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] body = ("{\"code\":200,\"data\":" + data + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * @(#)AuthNameCache 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.howiefh.spock.config.AuthRpcProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * 认证名称缓存.
+ * <p>
+ * 缓存 loginId 到认证名称的映射，未认证的结果以空字符串缓存较短时间，
+ * 同一 loginId 的并发查询只调用一次认证服务。缓存中保存的是查询结果的 future，认证服务在首个调用方的线程中调用，
+ * 不在缓存的 compute 中执行，慢调用不会阻塞其他 key；查询失败的 future 会被移除，不会缓存异常。
+ * 命中率等指标以 cache=authNames 注册。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Component
+public class AuthNameCache {
+    private static final String NOT_AUTHENTICATED = "";
+
+    private final AsyncCache<String, String> cache;
+
+    public AuthNameCache(AuthRpcProperties properties, MeterRegistry meterRegistry) {
+        AuthRpcProperties.Cache config = properties.getCache();
+        long ttl = config.getTtl().toNanos();
+        long negativeTtl = config.getNegativeTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfter(new Expiry<String, String>() {
+                    @Override
+                    public long expireAfterCreate(String key, String value, long currentTime) {
+                        return NOT_AUTHENTICATED.equals(value) ? negativeTtl : ttl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, String value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, String value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "authNames");
+    }
+
+    /**
+     * 获取认证名称，没有缓存时调用 loader 查询
+     *
+     * @param loginId 登录id
+     * @param loader  查询认证名称
+     * @return 认证名称，未认证时为 {@literal null}
+     */
+    public String get(String loginId, Function<String, String> loader) {
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> future = cache.get(loginId, (key, executor) -> created);
+        if (future == created) {
+            try {
+                String value = loader.apply(loginId);
+                created.complete(value == null ? NOT_AUTHENTICATED : value);
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        String name;
+        try {
+            name = future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return NOT_AUTHENTICATED.equals(name) ? null : name;
+    }
+
+    /**
+     * 使缓存失效
+     *
+     * @param loginId 登录id
+     */
+    public void invalidate(String loginId) {
+        cache.synchronous().invalidate(loginId);
+    }
+}
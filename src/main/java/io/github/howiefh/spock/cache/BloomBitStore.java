@@ -0,0 +1,67 @@
+/*
+ * @(#)BloomBitStore 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+/**
+ * 布隆过滤器的位存储.
+ * <p>
+ * 按层保存位图，同时保存已写入的元素数，{@link ScalableBloomFilter} 根据元素数决定写入的层。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public interface BloomBitStore {
+
+    /**
+     * 增加已写入的元素数
+     *
+     * @param delta 增加的个数
+     * @return 增加后的元素数
+     */
+    long addCount(long delta);
+
+    /**
+     * 已写入的元素数
+     *
+     * @return
+     */
+    long getCount();
+
+    /**
+     * 设置某一层的位
+     *
+     * @param layer   层序号
+     * @param bitSize 该层的位数
+     * @param offsets 需要设置的位
+     */
+    void setBits(int layer, long bitSize, long[] offsets);
+
+    /**
+     * 批量检查，每个元素是否存在某一层的给定位全部已设置
+     *
+     * @param offsets 每个元素每一层需要检查的位，第一维为元素，第二维为层序号
+     * @return 与元素顺序一致的检查结果
+     */
+    boolean[] anyLayerContainsAll(long[][][] offsets);
+
+    /**
+     * 清空全部位和元素数
+     */
+    void clear();
+}
@@ -0,0 +1,120 @@
+/*
+ * @(#)CacheRefresher 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+import io.github.howiefh.spock.config.SpockCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 缓存提前刷新.
+ * <p>
+ * 一级缓存未命中、二级缓存命中时检查 redis 中剩余的有效期，低于阈值时异步调用 {@link CacheReloader} 重新加载并写回缓存，
+ * 热点 key 在过期前就会被刷新，请求不会因为过期而访问数据库。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Slf4j
+public class CacheRefresher {
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, CacheReloader> reloaders;
+    private final double threshold;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public CacheRefresher(StringRedisTemplate redisTemplate, Collection<CacheReloader> reloaders,
+                          SpockCacheProperties.RefreshAhead properties) {
+        this.redisTemplate = redisTemplate;
+        this.reloaders = reloaders.stream().collect(Collectors.toMap(CacheReloader::getCacheName, Function.identity()));
+        this.threshold = properties.getThreshold();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(properties.getQueueCapacity()), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 剩余有效期低于阈值时异步刷新
+     *
+     * @param cache 二级缓存
+     * @param l2    redis 缓存
+     * @param key   缓存 key
+     */
+    void refreshIfNeeded(TwoLevelCache cache, Cache l2, Object key) {
+        CacheReloader reloader = reloaders.get(cache.getName());
+        if (reloader == null || !(l2 instanceof RedisCache)) {
+            return;
+        }
+        RedisCacheConfiguration configuration = ((RedisCache) l2).getCacheConfiguration();
+        Duration ttl = configuration.getTtl();
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        String redisKey = configuration.getKeyPrefixFor(cache.getName()) + key;
+        Long remaining = redisTemplate.getExpire(redisKey, TimeUnit.MILLISECONDS);
+        if (remaining == null || remaining < 0 || remaining > ttl.toMillis() * threshold) {
+            return;
+        }
+        if (!refreshing.add(redisKey)) {
+            return;
+        }
+        try {
+            executor.execute(() -> refresh(cache, reloader, key, redisKey));
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(redisKey);
+            log.warn("#refreshIfNeeded 刷新队列已满, key: {}", redisKey);
+        }
+    }
+
+    private void refresh(TwoLevelCache cache, CacheReloader reloader, Object key, String redisKey) {
+        try {
+            Object value = reloader.reload(key);
+            if (value == null) {
+                cache.evict(key);
+            } else {
+                cache.put(key, value);
+            }
+        } catch (RuntimeException e) {
+            log.warn("#refresh 缓存刷新失败, key: {}, e: ", redisKey, e);
+        } finally {
+            refreshing.remove(redisKey);
+        }
+    }
+
+    /**
+     * 关闭刷新线程
+     */
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * @(#)CacheReloader 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+/**
+ * 缓存重新加载器，用于缓存即将过期时提前刷新.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public interface CacheReloader {
+
+    /**
+     * 支持的缓存名称
+     *
+     * @return 缓存名称
+     */
+    String getCacheName();
+
+    /**
+     * 从数据源重新加载缓存值
+     *
+     * @param key 缓存 key
+     * @return 缓存值，不存在时返回 {@literal null}
+     */
+    Object reload(Object key);
+}
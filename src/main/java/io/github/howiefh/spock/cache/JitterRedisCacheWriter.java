@@ -0,0 +1,130 @@
+/*
+ * @(#)JitterRedisCacheWriter 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 写入时在有效期上随机增加一段时间的 redis 缓存写入器，避免同一时间写入的缓存同时过期.
+ * <p>
+ * 配置了空值有效期时，序列化后的空值使用该有效期写入，不随机增加。未启用一级缓存时空值会写入 redis，
+ * 不存在的用户不应与正常数据保留同样长的时间。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public class JitterRedisCacheWriter implements RedisCacheWriter {
+    private final RedisCacheWriter delegate;
+    /**
+     * 随机增加的最大比例
+     */
+    private final double jitter;
+    /**
+     * 序列化后的空值，为 {@literal null} 时空值与其他值使用同样的有效期
+     */
+    private final byte[] nullValue;
+    private final Duration negativeTtl;
+
+    public JitterRedisCacheWriter(RedisCacheWriter delegate, double jitter) {
+        this(delegate, jitter, null, null);
+    }
+
+    /**
+     * @param delegate    redis 缓存写入器
+     * @param jitter      随机增加的最大比例
+     * @param nullValue   序列化后的空值
+     * @param negativeTtl 空值的有效期
+     */
+    public JitterRedisCacheWriter(RedisCacheWriter delegate, double jitter, byte[] nullValue, Duration negativeTtl) {
+        this.delegate = delegate;
+        this.jitter = jitter;
+        this.nullValue = nullValue;
+        this.negativeTtl = negativeTtl;
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        delegate.put(name, key, value, ttlFor(value, ttl));
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        return delegate.get(name, key);
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        return delegate.putIfAbsent(name, key, value, ttlFor(value, ttl));
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        delegate.remove(name, key);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        delegate.clean(name, pattern);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new JitterRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector), jitter, nullValue, negativeTtl);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+
+    private Duration ttlFor(byte[] value, Duration ttl) {
+        if (nullValue != null && negativeTtl != null && Arrays.equals(nullValue, value)) {
+            return negativeTtl;
+        }
+        return withJitter(ttl);
+    }
+
+    /**
+     * 计算增加随机时间后的有效期
+     *
+     * @param ttl 有效期
+     * @return 有效期，不过期时原样返回
+     */
+    public Duration withJitter(Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative() || jitter <= 0) {
+            return ttl;
+        }
+        long bound = (long) (ttl.toMillis() * jitter);
+        if (bound <= 0) {
+            return ttl;
+        }
+        return ttl.plusMillis(ThreadLocalRandom.current().nextLong(bound + 1));
+    }
+}
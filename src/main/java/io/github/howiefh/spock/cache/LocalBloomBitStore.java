@@ -0,0 +1,94 @@
+/*
+ * @(#)LocalBloomBitStore 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 进程内位存储，每层为一个 {@link AtomicLongArray}，首次写入时分配.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public class LocalBloomBitStore implements BloomBitStore {
+    private final AtomicReferenceArray<AtomicLongArray> layers;
+    private final AtomicLong count = new AtomicLong();
+
+    public LocalBloomBitStore(int maxLayers) {
+        this.layers = new AtomicReferenceArray<>(maxLayers);
+    }
+
+    @Override
+    public long addCount(long delta) {
+        return count.addAndGet(delta);
+    }
+
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    @Override
+    public void setBits(int layer, long bitSize, long[] offsets) {
+        AtomicLongArray bits = layers.get(layer);
+        if (bits == null) {
+            layers.compareAndSet(layer, null, new AtomicLongArray((int) ((bitSize + 63) >>> 6)));
+            bits = layers.get(layer);
+        }
+        for (long offset : offsets) {
+            int index = (int) (offset >>> 6);
+            long mask = 1L << offset;
+            long word = bits.get(index);
+            while ((word & mask) == 0 && !bits.compareAndSet(index, word, word | mask)) {
+                word = bits.get(index);
+            }
+        }
+    }
+
+    @Override
+    public boolean[] anyLayerContainsAll(long[][][] offsets) {
+        boolean[] result = new boolean[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            for (int layer = 0; layer < offsets[i].length && !result[i]; layer++) {
+                AtomicLongArray bits = layers.get(layer);
+                result[i] = bits != null && containsAll(bits, offsets[i][layer]);
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsAll(AtomicLongArray bits, long[] offsets) {
+        for (long offset : offsets) {
+            if ((bits.get((int) (offset >>> 6)) & (1L << offset)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < layers.length(); i++) {
+            layers.set(i, null);
+        }
+        count.set(0);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * @(#)RedisBloomBitStore 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * redis 位存储，每层为一个 bitmap，多个节点共享.
+ * <p>
+ * 设置和检查位都通过管道一次发送，批量检查时一次往返读取所有元素所有层的位。
+ * 键为 prefix:层序号，元素数保存在 prefix:count。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public class RedisBloomBitStore implements BloomBitStore {
+    private final StringRedisTemplate redisTemplate;
+    private final String prefix;
+    private final String countKey;
+    private final int maxLayers;
+
+    public RedisBloomBitStore(StringRedisTemplate redisTemplate, String prefix, int maxLayers) {
+        this.redisTemplate = redisTemplate;
+        this.prefix = prefix;
+        this.countKey = prefix + ":count";
+        this.maxLayers = maxLayers;
+    }
+
+    @Override
+    public long addCount(long delta) {
+        Long count = redisTemplate.opsForValue().increment(countKey, delta);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public long getCount() {
+        String count = redisTemplate.opsForValue().get(countKey);
+        return count == null ? 0 : Long.parseLong(count);
+    }
+
+    @Override
+    public void setBits(int layer, long bitSize, long[] offsets) {
+        String key = layerKey(layer);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (long offset : offsets) {
+                stringConnection.setBit(key, offset, true);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public boolean[] anyLayerContainsAll(long[][][] offsets) {
+        List<Object> bits = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (long[][] elementOffsets : offsets) {
+                for (int layer = 0; layer < elementOffsets.length; layer++) {
+                    String key = layerKey(layer);
+                    for (long offset : elementOffsets[layer]) {
+                        stringConnection.getBit(key, offset);
+                    }
+                }
+            }
+            return null;
+        });
+        boolean[] result = new boolean[offsets.length];
+        int index = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            for (long[] layerOffsets : offsets[i]) {
+                boolean all = true;
+                for (int j = 0; j < layerOffsets.length; j++) {
+                    all &= Boolean.TRUE.equals(bits.get(index++));
+                }
+                result[i] |= all;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        List<String> keys = new ArrayList<>(maxLayers + 1);
+        for (int layer = 0; layer < maxLayers; layer++) {
+            keys.add(layerKey(layer));
+        }
+        keys.add(countKey);
+        redisTemplate.delete(keys);
+    }
+
+    private String layerKey(int layer) {
+        return prefix + ":" + layer;
+    }
+}
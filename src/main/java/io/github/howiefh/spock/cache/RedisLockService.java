@@ -17,13 +17,27 @@
  */
 package io.github.howiefh.spock.cache;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.integration.redis.util.RedisLockRegistry;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 
 /**
  * redis 锁服务
+ * <p>
+ * {@link RedisLockRegistry} 获取 redis 锁前会先获取同一 key 的进程内锁，同一节点上同一 key 的并发请求在本地就被拦下，不访问 redis，
+ * 不需要再加一层本地锁。加锁失败次数以 lock.contention 注册，tier 区分失败的位置：local 为本节点其他线程持有同一 key 的锁，
+ * redis 为其他节点持有；本节点是否持有由本服务记录的持有线程数判断。成功次数以 lock.acquisitions 注册；加锁等待时间以 lock.wait 注册，
+ * result 区分成功和失败，持有时间以 lock.hold 注册。
  *
  * @author fenghao
  * @version 1.0
@@ -34,12 +48,204 @@ public class RedisLockService {
     public static final long SIXTY_EXPIRE_SECONDS = 60L;
 
     private final RedisLockRegistry redisLockRegistry;
+    /**
+     * 同时访问 redis 加锁、解锁的许可，为 {@literal null} 时不限制
+     */
+    private final Semaphore permits;
+    private final Counter localContention;
+    private final Counter redisContention;
+    /**
+     * 本节点持有各 key 的锁的线程数，与 {@link RedisLockRegistry} 的进程内锁状态一致
+     */
+    private final Map<String, Integer> localHolders = new ConcurrentHashMap<>();
+    private final Counter acquisitions;
+    private final Timer waitAcquired;
+    private final Timer waitRejected;
+    private final Timer hold;
 
     public RedisLockService(RedisLockRegistry redisLockRegistry) {
+        this(redisLockRegistry, 0, Metrics.globalRegistry);
+    }
+
+    /**
+     * @param redisLockRegistry
+     * @param concurrency       同时访问 redis 加锁、解锁的最大线程数，小于等于 0 时不限制
+     * @param meterRegistry
+     */
+    public RedisLockService(RedisLockRegistry redisLockRegistry, int concurrency, MeterRegistry meterRegistry) {
         this.redisLockRegistry = redisLockRegistry;
+        this.permits = concurrency > 0 ? new Semaphore(concurrency) : null;
+        this.localContention = Counter.builder("lock.contention").tag("tier", "local").register(meterRegistry);
+        this.redisContention = Counter.builder("lock.contention").tag("tier", "redis").register(meterRegistry);
+        this.acquisitions = Counter.builder("lock.acquisitions").register(meterRegistry);
+        this.waitAcquired = lockTimer("lock.wait", "acquired", meterRegistry);
+        this.waitRejected = lockTimer("lock.wait", "rejected", meterRegistry);
+        this.hold = lockTimer("lock.hold", null, meterRegistry);
+    }
+
+    private static Timer lockTimer(String name, String result, MeterRegistry meterRegistry) {
+        Timer.Builder builder = Timer.builder(name)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram();
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        return builder.register(meterRegistry);
     }
 
     public Lock getLock(String lockKey) {
-        return redisLockRegistry.obtain(lockKey);
+        return new MeteredLock(lockKey);
+    }
+
+    /**
+     * 记录加锁等待和持有时间，第一次加锁时才从 {@link RedisLockRegistry} 获取锁
+     */
+    private class MeteredLock implements Lock {
+        private final String lockKey;
+        private Lock redisLock;
+        /**
+         * 当前线程的加锁次数，与 redis 锁的重入次数一致
+         */
+        private int holds;
+        /**
+         * 最外层加锁成功的时间，用于记录持有时间
+         */
+        private long acquiredAt;
+
+        private MeteredLock(String lockKey) {
+            this.lockKey = lockKey;
+        }
+
+        private Lock redisLock() {
+            if (redisLock == null) {
+                Lock lock = redisLockRegistry.obtain(lockKey);
+                redisLock = permits == null ? lock : new PermitLock(lock, permits);
+            }
+            return redisLock;
+        }
+
+        @Override
+        public void lock() {
+            long start = System.nanoTime();
+            redisLock().lock();
+            acquired(start);
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            long start = System.nanoTime();
+            redisLock().lockInterruptibly();
+            acquired(start);
+        }
+
+        @Override
+        public boolean tryLock() {
+            long start = System.nanoTime();
+            if (redisLock().tryLock()) {
+                acquired(start);
+                return true;
+            }
+            rejected(start);
+            return false;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            long start = System.nanoTime();
+            if (redisLock().tryLock(time, unit)) {
+                acquired(start);
+                return true;
+            }
+            rejected(start);
+            return false;
+        }
+
+        private void acquired(long start) {
+            long now = System.nanoTime();
+            acquisitions.increment();
+            waitAcquired.record(now - start, TimeUnit.NANOSECONDS);
+            if (++holds == 1) {
+                acquiredAt = now;
+                localHolders.merge(lockKey, 1, Integer::sum);
+            }
+        }
+
+        private void rejected(long start) {
+            (localHolders.containsKey(lockKey) ? localContention : redisContention).increment();
+            waitRejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void unlock() {
+            if (holds == 0) {
+                throw new IllegalMonitorStateException("当前线程未持有锁: " + lockKey);
+            }
+            try {
+                redisLock().unlock();
+            } finally {
+                if (--holds == 0) {
+                    hold.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+                    localHolders.computeIfPresent(lockKey, (key, count) -> count == 1 ? null : count - 1);
+                }
+            }
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("不支持 Condition");
+        }
+    }
+
+    /**
+     * 限制同时执行 tryLock、unlock 的线程数，使用虚拟线程时避免大量虚拟线程同时固定在载体线程上访问 redis
+     */
+    private static class PermitLock implements Lock {
+        private final Lock delegate;
+        private final Semaphore permits;
+
+        private PermitLock(Lock delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public void lock() {
+            delegate.lock();
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            delegate.lockInterruptibly();
+        }
+
+        @Override
+        public boolean tryLock() {
+            permits.acquireUninterruptibly();
+            try {
+                return delegate.tryLock();
+            } finally {
+                permits.release();
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            return delegate.tryLock(time, unit);
+        }
+
+        @Override
+        public void unlock() {
+            permits.acquireUninterruptibly();
+            try {
+                delegate.unlock();
+            } finally {
+                permits.release();
+            }
+        }
+
+        @Override
+        public Condition newCondition() {
+            return delegate.newCondition();
+        }
     }
 }
@@ -0,0 +1,214 @@
+/*
+ * @(#)ScalableBloomFilter 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 可扩容的布隆过滤器.
+ * <p>
+ * 由多层位图组成，第 i 层容量为 expectedInsertions * 2^i，误判率为 fpp * 0.5^(i+1)，
+ * 所有层的误判率之和不超过 fpp。写入的层由已写入的元素数决定，超出当前层容量后写入下一层，
+ * 多个节点共享位存储时各节点计算出的层一致。检查时任意一层包含全部位即认为可能存在。
+ * <p>
+ * 每个元素使用 64 位哈希拆分出的两个哈希值按 h1 + i * h2 计算 k 个位置。
+ * <p>
+ * 检查时使用本地缓存的元素数决定检查的层数，缓存超过刷新间隔后才重新读取，避免每次检查都多一次 redis 往返。
+ * 其他节点写入后本地的元素数可能偏小，因此总是多检查一层，刷新间隔内写入的元素不超过一层的容量时不会漏判。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public class ScalableBloomFilter {
+    private static final double LN2 = Math.log(2);
+    /**
+     * 每层最大位数，redis bitmap 的偏移量不能超过 2^32
+     */
+    private static final long MAX_BITS = 1L << 32;
+
+    private final BloomBitStore store;
+    private final long[] capacities;
+    private final long[] bitSizes;
+    private final int[] hashCounts;
+    private final long countRefreshMillis;
+    private volatile long cachedCount;
+    private volatile long countRefreshAt;
+
+    public ScalableBloomFilter(BloomBitStore store, long expectedInsertions, double fpp, int maxLayers) {
+        this(store, expectedInsertions, fpp, maxLayers, 0);
+    }
+
+    /**
+     * @param store              位存储
+     * @param expectedInsertions 第一层的容量
+     * @param fpp                总误判率
+     * @param maxLayers          最大层数，超出后继续写入最后一层，误判率随之升高
+     * @param countRefreshMillis 本地缓存元素数的刷新间隔，为 0 时每次检查都读取
+     */
+    public ScalableBloomFilter(BloomBitStore store, long expectedInsertions, double fpp, int maxLayers,
+                               long countRefreshMillis) {
+        if (expectedInsertions <= 0 || fpp <= 0 || fpp >= 1 || maxLayers <= 0 || countRefreshMillis < 0) {
+            throw new IllegalArgumentException("布隆过滤器参数错误");
+        }
+        this.store = store;
+        this.capacities = new long[maxLayers];
+        this.bitSizes = new long[maxLayers];
+        this.hashCounts = new int[maxLayers];
+        this.countRefreshMillis = countRefreshMillis;
+        long total = 0;
+        for (int i = 0; i < maxLayers; i++) {
+            long capacity = expectedInsertions << i;
+            double layerFpp = fpp * Math.pow(0.5, i + 1);
+            long bits = Math.min(MAX_BITS, (long) Math.ceil(-capacity * Math.log(layerFpp) / (LN2 * LN2)));
+            total += capacity;
+            capacities[i] = total;
+            bitSizes[i] = bits;
+            hashCounts[i] = Math.max(1, (int) Math.round((double) bits / capacity * LN2));
+        }
+    }
+
+    public void put(String value) {
+        int layer = layer(updateCount(store.addCount(1)));
+        store.setBits(layer, bitSizes[layer], offsets(layer, hash(value)));
+    }
+
+    /**
+     * 批量写入，全部写入同一层
+     *
+     * @param values
+     */
+    public void putAll(Collection<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        int layer = layer(updateCount(store.addCount(values.size())));
+        int k = hashCounts[layer];
+        long[] offsets = new long[values.size() * k];
+        int index = 0;
+        for (String value : values) {
+            System.arraycopy(offsets(layer, hash(value)), 0, offsets, index, k);
+            index += k;
+        }
+        store.setBits(layer, bitSizes[layer], offsets);
+    }
+
+    /**
+     * 是否可能存在，返回 {@literal false} 时一定不存在
+     *
+     * @param value
+     * @return
+     */
+    public boolean mightContain(String value) {
+        return mightContainAll(List.of(value))[0];
+    }
+
+    /**
+     * 批量检查是否可能存在
+     *
+     * @param values
+     * @return 与 values 顺序一致的检查结果
+     */
+    public boolean[] mightContainAll(List<String> values) {
+        if (values.isEmpty()) {
+            return new boolean[0];
+        }
+        int layers = Math.min(layer(cachedCount()) + 2, capacities.length);
+        long[][][] offsets = new long[values.size()][layers][];
+        for (int i = 0; i < values.size(); i++) {
+            long hash = hash(values.get(i));
+            for (int layer = 0; layer < layers; layer++) {
+                offsets[i][layer] = offsets(layer, hash);
+            }
+        }
+        return store.anyLayerContainsAll(offsets);
+    }
+
+    public long getCount() {
+        return store.getCount();
+    }
+
+    public void clear() {
+        store.clear();
+        cachedCount = 0;
+        countRefreshAt = 0;
+    }
+
+    private long cachedCount() {
+        long now = System.currentTimeMillis();
+        if (countRefreshMillis == 0 || now >= countRefreshAt) {
+            cachedCount = store.getCount();
+            countRefreshAt = now + countRefreshMillis;
+        }
+        return cachedCount;
+    }
+
+    /**
+     * 本节点写入后立即更新本地缓存的元素数
+     */
+    private long updateCount(long count) {
+        if (count > cachedCount) {
+            cachedCount = count;
+        }
+        return count;
+    }
+
+    /**
+     * 第 count 个元素所在的层
+     */
+    private int layer(long count) {
+        for (int i = 0; i < capacities.length; i++) {
+            if (count <= capacities[i]) {
+                return i;
+            }
+        }
+        return capacities.length - 1;
+    }
+
+    private long[] offsets(int layer, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long bitSize = bitSizes[layer];
+        long[] offsets = new long[hashCounts[layer]];
+        long combined = h1;
+        for (int i = 0; i < offsets.length; i++) {
+            combined += h2;
+            offsets[i] = Math.floorMod(combined, bitSize);
+        }
+        return offsets;
+    }
+
+    /**
+     * FNV-1a 哈希后再混淆，使高低 32 位都分布均匀
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * @(#)TwoLevelCache 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 二级缓存，一级为进程内 caffeine 缓存，二级为 redis 缓存.
+ * <p>
+ * 写入、删除、清空时通过 {@link TwoLevelCacheManager} 广播失效消息，其他节点删除各自的一级缓存。
+ * <p>
+ * {@link #get(Object, Callable)} 对同一个 key 的并发加载进行合并，每个节点同一时刻只有一个线程调用加载方法；
+ * 加载结果为 {@literal null} 时只在一级缓存中保存较短时间，不写入 redis。
+ * <p>
+ * {@link #getAll(Collection)} 和 {@link #putAll(Map)} 分别使用 MGET 和 pipeline 批量读写 redis。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> l1;
+    private final Cache l2;
+    private final TwoLevelCacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    /**
+     * 提前刷新，为 {@literal null} 时不刷新
+     */
+    private final CacheRefresher refresher;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> loadings = new ConcurrentHashMap<>();
+
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Evictions;
+    private final Counter loads;
+    private final Counter coalescedLoads;
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> l1, Cache l2,
+                         TwoLevelCacheManager cacheManager, StringRedisTemplate redisTemplate, CacheRefresher refresher,
+                         MeterRegistry meterRegistry) {
+        super(true);
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.refresher = refresher;
+        this.l2Hits = Counter.builder("cache.gets").tags("cache", name, "tier", "l2", "result", "hit").register(meterRegistry);
+        this.l2Misses = Counter.builder("cache.gets").tags("cache", name, "tier", "l2", "result", "miss").register(meterRegistry);
+        this.l2Evictions = Counter.builder("cache.evictions").tags("cache", name, "tier", "l2").register(meterRegistry);
+        this.loads = Counter.builder("cache.loads").tags("cache", name).register(meterRegistry);
+        this.coalescedLoads = Counter.builder("cache.loads.coalesced").tags("cache", name).register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = l1.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        ValueWrapper wrapper = l2.get(key);
+        if (wrapper == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        value = toStoreValue(wrapper.get());
+        l1.put(key, value);
+        if (refresher != null) {
+            refresher.refreshIfNeeded(this, l2, key);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loadings.putIfAbsent(key, loading);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return (T) fromStoreValue(join(existing));
+        }
+        try {
+            Object storeValue = load(key, valueLoader);
+            loading.complete(storeValue);
+            return (T) fromStoreValue(storeValue);
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadings.remove(key, loading);
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        // 上一个加载线程可能刚刚完成加载，只检查一级缓存避免再访问一次 redis
+        Object storeValue = l1.getIfPresent(key);
+        if (storeValue != null) {
+            return storeValue;
+        }
+        Object value;
+        try {
+            loads.increment();
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            l2.put(key, value);
+        }
+        storeValue = toStoreValue(value);
+        l1.put(key, storeValue);
+        return storeValue;
+    }
+
+    private Object join(CompletableFuture<Object> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 批量获取缓存
+     *
+     * @param keys 缓存 key
+     * @return 命中的 key 与缓存值，缓存的空值为 {@literal null}
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> result = new HashMap<>(keys.size() * 2);
+        Map<Object, Object> present = l1.getAllPresent(keys);
+        present.forEach((key, value) -> result.put(key, fromStoreValue(value)));
+        List<Object> misses = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            if (!present.containsKey(key)) {
+                misses.add(key);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+        if (!(l2 instanceof RedisCache)) {
+            for (Object key : misses) {
+                ValueWrapper wrapper = get(key);
+                if (wrapper != null) {
+                    result.put(key, wrapper.get());
+                }
+            }
+            return result;
+        }
+        RedisCacheConfiguration configuration = ((RedisCache) l2).getCacheConfiguration();
+        byte[][] redisKeys = misses.stream().map(key -> redisKey(configuration, key)).toArray(byte[][]::new);
+        List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(redisKeys));
+        for (int i = 0; i < misses.size(); i++) {
+            byte[] bytes = values != null ? values.get(i) : null;
+            if (bytes == null) {
+                l2Misses.increment();
+                continue;
+            }
+            l2Hits.increment();
+            Object storeValue = toStoreValue(configuration.getValueSerializationPair().read(ByteBuffer.wrap(bytes)));
+            l1.put(misses.get(i), storeValue);
+            result.put(misses.get(i), fromStoreValue(storeValue));
+        }
+        return result;
+    }
+
+    /**
+     * 批量写入从数据源加载的值，不广播失效消息
+     * <p>
+     * 空值只写入一级缓存，非空值通过 pipeline 写入 redis。
+     *
+     * @param values 缓存 key 与缓存值
+     */
+    public void putAll(Map<?, ?> values) {
+        Map<byte[], byte[]> redisValues = new HashMap<>(values.size() * 2);
+        RedisCacheConfiguration configuration = l2 instanceof RedisCache ? ((RedisCache) l2).getCacheConfiguration() : null;
+        values.forEach((key, value) -> {
+            l1.put(key, toStoreValue(value));
+            if (value == null) {
+                return;
+            }
+            if (configuration == null) {
+                l2.put(key, value);
+            } else {
+                ByteBuffer buffer = configuration.getValueSerializationPair().write(value);
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                redisValues.put(redisKey(configuration, key), bytes);
+            }
+        });
+        if (redisValues.isEmpty()) {
+            return;
+        }
+        Duration ttl = configuration.getTtl();
+        Object nativeCache = l2.getNativeCache();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            redisValues.forEach((key, value) -> {
+                Duration entryTtl = nativeCache instanceof JitterRedisCacheWriter ? ((JitterRedisCacheWriter) nativeCache).withJitter(ttl) : ttl;
+                Expiration expiration = entryTtl == null || entryTtl.isZero() || entryTtl.isNegative()
+                        ? Expiration.persistent() : Expiration.from(entryTtl);
+                connection.stringCommands().set(key, value, expiration, RedisStringCommands.SetOption.upsert());
+            });
+            return null;
+        });
+    }
+
+    private byte[] redisKey(RedisCacheConfiguration configuration, Object key) {
+        return (configuration.getKeyPrefixFor(name) + key).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        l1.put(key, toStoreValue(value));
+        cacheManager.publishEvict(name, key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        l2Evictions.increment();
+        l1.invalidate(key);
+        cacheManager.publishEvict(name, key);
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+        cacheManager.publishClear(name);
+    }
+
+    /**
+     * 只删除本节点的一级缓存
+     *
+     * @param key 缓存 key，为 {@literal null} 时清空
+     */
+    void evictLocal(Object key) {
+        if (key == null) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(key);
+        }
+    }
+}
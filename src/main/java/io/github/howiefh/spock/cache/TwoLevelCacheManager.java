@@ -0,0 +1,171 @@
+/*
+ * @(#)TwoLevelCacheManager 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.howiefh.spock.config.SpockCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 二级缓存管理器.
+ * <p>
+ * 在 redis 缓存管理器前增加进程内一级缓存，并通过 redis 发布订阅在节点间广播一级缓存失效消息。
+ * 消息格式为 {@code 节点id \n 缓存名称 \n key}，key 为空表示清空整个缓存。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener, DisposableBean {
+    private static final String SEPARATOR = "\n";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    private final CacheManager redisCacheManager;
+    private final SpockCacheProperties.Near properties;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    /**
+     * 提前刷新，为 {@literal null} 时不刷新
+     */
+    private final CacheRefresher refresher;
+
+    public TwoLevelCacheManager(CacheManager redisCacheManager, SpockCacheProperties.Near properties,
+                                StringRedisTemplate redisTemplate, MeterRegistry meterRegistry, CacheRefresher refresher) {
+        this.redisCacheManager = redisCacheManager;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.refresher = refresher;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoLevelCache createCache(String name) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> l1 = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new NearCacheExpiry(properties.getExpireAfterWrite().toNanos(), properties.getNegativeTtl().toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, name, "tier", "l1");
+        return new TwoLevelCache(name, l1, redisCacheManager.getCache(name), this, redisTemplate, refresher, meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) {
+            refresher.shutdown();
+        }
+    }
+
+    /**
+     * 广播删除一级缓存
+     *
+     * @param name 缓存名称
+     * @param key  缓存 key
+     */
+    void publishEvict(String name, Object key) {
+        // 非字符串 key 无法在其他节点还原，直接清空对应缓存
+        publish(name, key instanceof String ? (String) key : "");
+    }
+
+    /**
+     * 广播清空一级缓存
+     *
+     * @param name 缓存名称
+     */
+    void publishClear(String name) {
+        publish(name, "");
+    }
+
+    private void publish(String name, String key) {
+        try {
+            redisTemplate.convertAndSend(properties.getChannel(), nodeId + SEPARATOR + name + SEPARATOR + key);
+        } catch (RuntimeException e) {
+            // 广播失败时其他节点的一级缓存在过期后失效
+            log.warn("#publish 缓存失效广播失败, cache: {}, key: {}, e: ", name, key, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.evictLocal(parts[2].isEmpty() ? null : parts[2]);
+        }
+    }
+
+    /**
+     * 一级缓存过期策略，空值使用较短的有效期
+     */
+    private static class NearCacheExpiry implements Expiry<Object, Object> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        NearCacheExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return value == NullValue.INSTANCE ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
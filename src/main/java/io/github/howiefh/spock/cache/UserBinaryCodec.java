@@ -0,0 +1,211 @@
+/*
+ * @(#)UserBinaryCodec 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+import io.github.howiefh.spock.domain.User;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * 用户二进制编解码.
+ * <p>
+ * 只编码持久化字段，不包含分页、邀请码等请求字段。格式为：
+ * <pre>
+ * magic(1) | version(1) | 字段存在位图(2) | 存在的字段...
+ * </pre>
+ * 整数使用 zigzag 变长编码，字符串为变长长度加 UTF-8 字节，日期为毫秒数。
+ * 新增字段时追加到末尾并增加位图位，旧版本数据中缺少的字段解码为 {@literal null}。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public final class UserBinaryCodec {
+    /**
+     * 魔数，与 JDK 序列化的首字节 0xAC 区分
+     */
+    public static final byte MAGIC = 0x55;
+    public static final byte VERSION = 1;
+
+    private static final int ID = 1;
+    private static final int USER_NO = 1 << 1;
+    private static final int USER_NAME = 1 << 2;
+    private static final int GENDER = 1 << 3;
+    private static final int USER_VERSION = 1 << 4;
+    private static final int DELETE_FLAG = 1 << 5;
+    private static final int CREATED_BY = 1 << 6;
+    private static final int MODIFIED_BY = 1 << 7;
+    private static final int CREATED_DATE = 1 << 8;
+    private static final int MODIFIED_DATE = 1 << 9;
+
+    private UserBinaryCodec() {
+    }
+
+    /**
+     * 是否为本编码格式的数据
+     *
+     * @param bytes 数据
+     * @return 是否匹配
+     */
+    public static boolean matches(byte[] bytes) {
+        return bytes != null && bytes.length >= 4 && bytes[0] == MAGIC;
+    }
+
+    /**
+     * 编码
+     *
+     * @param user 用户
+     * @return 字节数组
+     */
+    public static byte[] encode(User user) {
+        int flags = 0;
+        flags |= user.getId() != null ? ID : 0;
+        flags |= user.getUserNo() != null ? USER_NO : 0;
+        flags |= user.getUserName() != null ? USER_NAME : 0;
+        flags |= user.getGender() != null ? GENDER : 0;
+        flags |= user.getVersion() != null ? USER_VERSION : 0;
+        flags |= user.getDeleteFlag() != null ? DELETE_FLAG : 0;
+        flags |= user.getCreatedBy() != null ? CREATED_BY : 0;
+        flags |= user.getModifiedBy() != null ? MODIFIED_BY : 0;
+        flags |= user.getCreatedDate() != null ? CREATED_DATE : 0;
+        flags |= user.getModifiedDate() != null ? MODIFIED_DATE : 0;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(flags >>> 8);
+        out.write(flags);
+        if ((flags & ID) != 0) {
+            writeLong(out, user.getId());
+        }
+        if ((flags & USER_NO) != 0) {
+            writeString(out, user.getUserNo());
+        }
+        if ((flags & USER_NAME) != 0) {
+            writeString(out, user.getUserName());
+        }
+        if ((flags & GENDER) != 0) {
+            writeLong(out, user.getGender());
+        }
+        if ((flags & USER_VERSION) != 0) {
+            writeLong(out, user.getVersion());
+        }
+        if ((flags & DELETE_FLAG) != 0) {
+            writeLong(out, user.getDeleteFlag());
+        }
+        if ((flags & CREATED_BY) != 0) {
+            writeString(out, user.getCreatedBy());
+        }
+        if ((flags & MODIFIED_BY) != 0) {
+            writeString(out, user.getModifiedBy());
+        }
+        if ((flags & CREATED_DATE) != 0) {
+            writeLong(out, user.getCreatedDate().getTime());
+        }
+        if ((flags & MODIFIED_DATE) != 0) {
+            writeLong(out, user.getModifiedDate().getTime());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 解码
+     *
+     * @param bytes 字节数组
+     * @return 用户
+     */
+    public static User decode(byte[] bytes) {
+        if (!matches(bytes)) {
+            throw new IllegalArgumentException("不是用户二进制编码数据");
+        }
+        if (bytes[1] > VERSION) {
+            throw new IllegalArgumentException("不支持的用户编码版本: " + bytes[1]);
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+        int flags = ((in.get() & 0xFF) << 8) | (in.get() & 0xFF);
+        User user = new User();
+        if ((flags & ID) != 0) {
+            user.setId(readLong(in));
+        }
+        if ((flags & USER_NO) != 0) {
+            user.setUserNo(readString(in));
+        }
+        if ((flags & USER_NAME) != 0) {
+            user.setUserName(readString(in));
+        }
+        if ((flags & GENDER) != 0) {
+            user.setGender((int) readLong(in));
+        }
+        if ((flags & USER_VERSION) != 0) {
+            user.setVersion((int) readLong(in));
+        }
+        if ((flags & DELETE_FLAG) != 0) {
+            user.setDeleteFlag((int) readLong(in));
+        }
+        if ((flags & CREATED_BY) != 0) {
+            user.setCreatedBy(readString(in));
+        }
+        if ((flags & MODIFIED_BY) != 0) {
+            user.setModifiedBy(readString(in));
+        }
+        if ((flags & CREATED_DATE) != 0) {
+            user.setCreatedDate(new Date(readLong(in)));
+        }
+        if ((flags & MODIFIED_DATE) != 0) {
+            user.setModifiedDate(new Date(readLong(in)));
+        }
+        return user;
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static long readLong(ByteBuffer in) {
+        long v = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            v |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readLong(in);
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * @(#)UserCountCache 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.howiefh.spock.config.UserPageProperties;
+import io.github.howiefh.spock.dao.interceptor.UserWriteListener;
+import io.github.howiefh.spock.domain.User;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 用户总数缓存.
+ * <p>
+ * 以 userWhere 查询条件为 key 短时缓存 countBy 的结果，用户数据有写操作时全部失效。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Component
+public class UserCountCache implements UserWriteListener {
+    private final Cache<String, Long> cache;
+
+    public UserCountCache(UserPageProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getCountCacheTtl())
+                .maximumSize(properties.getCountCacheMaximumSize())
+                .build();
+    }
+
+    /**
+     * 获取条件对应的总数，没有缓存时调用 loader 统计
+     *
+     * @param condition 查询条件
+     * @param loader    统计总数
+     * @return 总数
+     */
+    public long get(User condition, LongSupplier loader) {
+        return cache.get(buildKey(condition), key -> loader.getAsLong());
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void afterWrite(String method, Object parameter, int rows) {
+        invalidateAll();
+    }
+
+    /**
+     * 与 UserMapper.xml 中 userWhere 的条件字段保持一致
+     */
+    private String buildKey(User condition) {
+        return condition.getUserNo() + '|' + condition.getUserName() + '|' + condition.getGender()
+                + '|' + condition.getCreatedBy() + '|' + condition.getModifiedBy();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * @(#)UserRedisSerializer 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache;
+
+import io.github.howiefh.spock.domain.User;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 缓存值序列化器，{@link User} 使用 {@link UserBinaryCodec} 编码，其他类型仍使用 JDK 序列化.
+ * <p>
+ * 反序列化时根据首字节区分编码方式，已经以 JDK 序列化写入的旧缓存仍可以读取。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public class UserRedisSerializer implements RedisSerializer<Object> {
+    private final JdkSerializationRedisSerializer fallback;
+
+    public UserRedisSerializer() {
+        this(new JdkSerializationRedisSerializer());
+    }
+
+    public UserRedisSerializer(JdkSerializationRedisSerializer fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value instanceof User) {
+            return UserBinaryCodec.encode((User) value);
+        }
+        return fallback.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (UserBinaryCodec.matches(bytes)) {
+            try {
+                return UserBinaryCodec.decode(bytes);
+            } catch (RuntimeException e) {
+                throw new SerializationException("用户缓存反序列化失败", e);
+            }
+        }
+        return fallback.deserialize(bytes);
+    }
+}
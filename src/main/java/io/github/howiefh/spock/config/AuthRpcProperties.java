@@ -0,0 +1,158 @@
+/*
+ * @(#)AuthRpcProperties 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 认证服务调用配置.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Data
+@ConfigurationProperties(prefix = "spock.rpc.auth")
+public class AuthRpcProperties {
+    /**
+     * 认证服务地址
+     */
+    private String baseUrl = "https://mock.apifox.com/m1/3732898-0-default";
+    private Batch batch = new Batch();
+    private Cache cache = new Cache();
+    private Bulkhead bulkhead = new Bulkhead();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Hedge hedge = new Hedge();
+
+    /**
+     * 合并查询配置
+     */
+    @Data
+    public static class Batch {
+        /**
+         * 是否将并发的认证名称查询合并为一次批量查询
+         */
+        private boolean enabled = false;
+        /**
+         * 单次批量查询的最大条数
+         */
+        private int maxSize = 50;
+        /**
+         * 收到第一个查询后等待合并的最长时间
+         */
+        private Duration window = Duration.ofMillis(5);
+        /**
+         * 等待合并的查询上限，超出时直接拒绝
+         */
+        private int queueCapacity = 10000;
+        /**
+         * 调用方等待结果的超时时间
+         */
+        private Duration timeout = Duration.ofSeconds(3);
+    }
+
+    /**
+     * 认证名称缓存配置
+     */
+    @Data
+    public static class Cache {
+        /**
+         * 是否缓存认证名称
+         */
+        private boolean enabled = true;
+        private long maximumSize = 10000;
+        /**
+         * 已认证结果的有效期
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+        /**
+         * 未认证结果的有效期，用户完成认证后最多需要等待这段时间才能注册
+         */
+        private Duration negativeTtl = Duration.ofSeconds(30);
+    }
+
+    /**
+     * 并发隔离配置
+     */
+    @Data
+    public static class Bulkhead {
+        /**
+         * 同时调用认证服务的最大线程数
+         */
+        private int maxConcurrentCalls = 20;
+        /**
+         * 超出并发数时的等待时间，为 0 时直接拒绝
+         */
+        private Duration maxWaitDuration = Duration.ZERO;
+    }
+
+    /**
+     * 熔断配置
+     */
+    @Data
+    public static class CircuitBreaker {
+        /**
+         * 失败率阈值，百分比
+         */
+        private float failureRateThreshold = 50;
+        /**
+         * 超过该时间的调用视为慢调用
+         */
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+        /**
+         * 慢调用比例阈值，百分比
+         */
+        private float slowCallRateThreshold = 80;
+        /**
+         * 统计最近多少次调用
+         */
+        private int slidingWindowSize = 50;
+        /**
+         * 至少调用多少次后才计算失败率
+         */
+        private int minimumNumberOfCalls = 20;
+        /**
+         * 熔断后多久进入半开状态
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedNumberOfCallsInHalfOpenState = 5;
+    }
+
+    /**
+     * 对冲请求配置，请求超过延迟时间仍未返回时再发送一次相同请求，取先返回的结果
+     */
+    @Data
+    public static class Hedge {
+        private boolean enabled = false;
+        /**
+         * 对冲延迟取最近调用耗时的该分位数
+         */
+        private double percentile = 0.95;
+        /**
+         * 调用样本不足时使用的对冲延迟
+         */
+        private Duration delay = Duration.ofMillis(200);
+        /**
+         * 对冲延迟下限，避免服务正常时也发送大量重复请求
+         */
+        private Duration minDelay = Duration.ofMillis(20);
+    }
+}
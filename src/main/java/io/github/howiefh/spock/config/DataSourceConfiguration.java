@@ -0,0 +1,96 @@
+/*
+ * @(#)DataSourceConfiguration 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.howiefh.spock.dao.interceptor.ReadRoutingInterceptor;
+import io.github.howiefh.spock.datasource.ReadWriteRoutingDataSource;
+import io.github.howiefh.spock.datasource.ReadYourWritesTracker;
+import io.github.howiefh.spock.datasource.ReplicaPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 读写分离配置，开启后替代自动配置的数据源.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spock.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(DataSourceRoutingProperties properties, MeterRegistry meterRegistry) {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        Map<String, Integer> weights = new HashMap<>();
+        for (DataSourceRoutingProperties.Replica replica : properties.getReplicas()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(replica.getDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            dataSource.setPoolName("replica-" + replica.getName());
+            dataSource.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+            // 启动时从库不可用不影响启动，由健康检查摘除
+            dataSource.setInitializationFailTimeout(-1);
+            dataSources.put(replica.getName(), dataSource);
+            weights.put(replica.getName(), replica.getWeight());
+        }
+        return new ReplicaPool(dataSources, weights, properties.getFailureThreshold(), properties.getRecoveryThreshold(),
+                properties.getHealthCheckTimeout(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaPool, meterRegistry));
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow(), properties.getReadYourWritesMaximumSize());
+    }
+
+    @Bean
+    public ReadRoutingInterceptor readRoutingInterceptor(ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        return new ReadRoutingInterceptor(readYourWritesTracker, meterRegistry);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * @(#)DataSourceRoutingProperties 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置，主库使用 spring.datasource 配置.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Data
+@ConfigurationProperties(prefix = "spock.datasource.routing")
+public class DataSourceRoutingProperties {
+    private boolean enabled = false;
+    /**
+     * 从库
+     */
+    private List<Replica> replicas = new ArrayList<>();
+    /**
+     * 写入后该时间内当前线程的查询和按写入的用户编号的查询读主库，应大于从库的复制延迟
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+    /**
+     * 读主库窗口内最多记录的用户编号个数
+     */
+    private long readYourWritesMaximumSize = 100_000;
+    /**
+     * 从库连接池获取连接的超时时间，从库不可用时查询在该时间后切换到主库
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+    private int maximumPoolSize = 10;
+    /**
+     * 从库健康检查间隔
+     */
+    private long healthCheckIntervalMs = 5000;
+    /**
+     * 健康检查校验连接的超时时间
+     */
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+    /**
+     * 连续检查失败该次数后摘除从库，查询获取连接失败时立即摘除
+     */
+    private int failureThreshold = 3;
+    /**
+     * 摘除的从库连续检查成功该次数后恢复
+     */
+    private int recoveryThreshold = 2;
+
+    @Data
+    public static class Replica {
+        /**
+         * 名称，不能为 primary
+         */
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        /**
+         * 轮询权重
+         */
+        private int weight = 1;
+    }
+}
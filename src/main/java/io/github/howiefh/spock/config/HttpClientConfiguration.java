@@ -0,0 +1,113 @@
+/*
+ * @(#)HttpClientConfiguration 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config;
+
+import io.github.howiefh.spock.rpc.JdkClientHttpRequestFactory;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+
+/**
+ * http 客户端配置，通过 spock.http.client.type 选择 RestTemplate 使用的客户端，未配置时使用连接池.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Configuration
+public class HttpClientConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "spock.http.client.type", havingValue = "simple")
+    public ClientHttpRequestFactory simpleClientHttpRequestFactory(HttpClientProperties properties) {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setReadTimeout((int) properties.getReadTimeout().toMillis());
+        factory.setConnectTimeout((int) properties.getConnectTimeout().toMillis());
+        return factory;
+    }
+
+    /**
+     * 连接池，连接池指标以 httpcomponents.httpclient.pool.* 注册
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "spock.http.client.type", havingValue = "pooled", matchIfMissing = true)
+    public static class PooledHttpClientConfiguration {
+
+        @Bean
+        public PoolingHttpClientConnectionManager httpClientConnectionManager(HttpClientProperties properties) {
+            HttpClientProperties.Pool pool = properties.getPool();
+            return PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(pool.getMaxTotal())
+                    .setMaxConnPerRoute(pool.getMaxPerRoute())
+                    .setDefaultConnectionConfig(ConnectionConfig.custom()
+                            .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeout().toMillis()))
+                            .setSocketTimeout(Timeout.ofMilliseconds(properties.getReadTimeout().toMillis()))
+                            .setValidateAfterInactivity(TimeValue.ofMilliseconds(pool.getValidateAfterInactivity().toMillis()))
+                            .build())
+                    .build();
+        }
+
+        @Bean(destroyMethod = "close")
+        public CloseableHttpClient pooledHttpClient(PoolingHttpClientConnectionManager connectionManager, HttpClientProperties properties) {
+            HttpClientProperties.Pool pool = properties.getPool();
+            return HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectionRequestTimeout(Timeout.ofMilliseconds(pool.getConnectionRequestTimeout().toMillis()))
+                            .setConnectionKeepAlive(TimeValue.ofMilliseconds(pool.getKeepAlive().toMillis()))
+                            .build())
+                    .evictExpiredConnections()
+                    .evictIdleConnections(TimeValue.ofMilliseconds(pool.getIdleEvictTimeout().toMillis()))
+                    .build();
+        }
+
+        @Bean
+        public ClientHttpRequestFactory pooledClientHttpRequestFactory(CloseableHttpClient pooledHttpClient) {
+            return new HttpComponentsClientHttpRequestFactory(pooledHttpClient);
+        }
+
+        @Bean
+        public PoolingHttpClientConnectionManagerMetricsBinder httpClientConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+            return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "restTemplate");
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spock.http.client.type", havingValue = "http2")
+    public ClientHttpRequestFactory http2ClientHttpRequestFactory(HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        return new JdkClientHttpRequestFactory(httpClient, properties.getReadTimeout());
+    }
+}
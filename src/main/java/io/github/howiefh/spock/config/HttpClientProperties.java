@@ -0,0 +1,85 @@
+/*
+ * @(#)HttpClientProperties 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * RestTemplate 使用的 http 客户端配置.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Data
+@ConfigurationProperties(prefix = "spock.http.client")
+public class HttpClientProperties {
+    /**
+     * 客户端类型，默认使用连接池，simple 为原来每次新建连接的方式
+     */
+    private Type type = Type.POOLED;
+    private Duration connectTimeout = Duration.ofSeconds(15);
+    private Duration readTimeout = Duration.ofSeconds(5);
+    private Pool pool = new Pool();
+
+    /**
+     * 客户端类型
+     */
+    public enum Type {
+        /**
+         * 每次请求使用新的 HttpURLConnection
+         */
+        SIMPLE,
+        /**
+         * Apache HttpClient 5 连接池，HTTP/1.1 keep-alive
+         */
+        POOLED,
+        /**
+         * JDK HttpClient，优先协商 HTTP/2，同一主机的请求复用连接
+         */
+        HTTP2
+    }
+
+    /**
+     * 连接池配置，只对 pooled 生效
+     */
+    @Data
+    public static class Pool {
+        private int maxTotal = 200;
+        private int maxPerRoute = 50;
+        /**
+         * 从连接池获取连接的超时时间
+         */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+        /**
+         * 服务端未返回 Keep-Alive 时连接的保持时间
+         */
+        private Duration keepAlive = Duration.ofSeconds(60);
+        /**
+         * 空闲超过该时间的连接由后台线程关闭
+         */
+        private Duration idleEvictTimeout = Duration.ofSeconds(30);
+        /**
+         * 连接空闲超过该时间后再次使用前先检查是否可用
+         */
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    }
+}
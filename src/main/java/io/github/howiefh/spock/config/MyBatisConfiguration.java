@@ -17,8 +17,16 @@
  */
 package io.github.howiefh.spock.config;
 
+import io.github.howiefh.spock.dao.interceptor.SlowStatementLog;
+import io.github.howiefh.spock.dao.interceptor.StatementMetricsEndpoint;
+import io.github.howiefh.spock.dao.interceptor.StatementMetricsInterceptor;
+import io.github.howiefh.spock.dao.interceptor.UserWriteInterceptor;
+import io.github.howiefh.spock.dao.interceptor.UserWriteListener;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.ibatis.mapping.DatabaseIdProvider;
 import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -42,4 +50,32 @@ public class MyBatisConfiguration {
         return databaseIdProvider;
     }
 
+    @Bean
+    public UserWriteInterceptor userWriteInterceptor(ObjectProvider<UserWriteListener> listeners) {
+        return new UserWriteInterceptor(listeners);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "spock.mybatis.statement", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class StatementMetricsConfiguration {
+
+        @Bean
+        public SlowStatementLog slowStatementLog(MyBatisStatementProperties properties) {
+            return new SlowStatementLog(properties.getSlowCapacity());
+        }
+
+        @Bean
+        public StatementMetricsInterceptor statementMetricsInterceptor(MeterRegistry meterRegistry, SlowStatementLog slowStatementLog,
+                                                                      MyBatisStatementProperties properties) {
+            return new StatementMetricsInterceptor(meterRegistry, slowStatementLog, properties.getSlowThreshold(),
+                    properties.isCaptureParameters(), properties.getMaxParameterLength());
+        }
+
+        @Bean
+        public StatementMetricsEndpoint statementMetricsEndpoint(StatementMetricsInterceptor statementMetricsInterceptor,
+                                                                 SlowStatementLog slowStatementLog) {
+            return new StatementMetricsEndpoint(statementMetricsInterceptor, slowStatementLog);
+        }
+    }
+
 }
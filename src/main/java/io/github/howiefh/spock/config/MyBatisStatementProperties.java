@@ -0,0 +1,55 @@
+/*
+ * @(#)MyBatisStatementProperties 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * MyBatis 语句统计配置.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Data
+@ConfigurationProperties(prefix = "spock.mybatis.statement")
+public class MyBatisStatementProperties {
+    /**
+     * 是否统计每条语句的耗时和行数
+     */
+    private boolean enabled = true;
+    /**
+     * 耗时超过该值的语句记录到慢语句列表
+     */
+    private Duration slowThreshold = Duration.ofMillis(200);
+    /**
+     * 慢语句列表保留的最大条数，超出时覆盖最早的记录
+     */
+    private int slowCapacity = 100;
+    /**
+     * 慢语句是否保留绑定的参数值，参数可能包含用户信息，默认只保留占位符数量，值以 *** 代替
+     */
+    private boolean captureParameters = false;
+    /**
+     * 慢语句中单个参数值保留的最大长度
+     */
+    private int maxParameterLength = 200;
+}
@@ -17,13 +17,34 @@
  */
 package io.github.howiefh.spock.config;
 
+import io.github.howiefh.spock.cache.CacheRefresher;
+import io.github.howiefh.spock.cache.CacheReloader;
+import io.github.howiefh.spock.cache.JitterRedisCacheWriter;
 import io.github.howiefh.spock.cache.RedisLockService;
+import io.github.howiefh.spock.cache.TwoLevelCacheManager;
+import io.github.howiefh.spock.cache.UserRedisSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NullValue;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.integration.redis.util.RedisLockRegistry;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 /**
  * @author fenghao
  * @version 1.0
@@ -39,7 +60,58 @@ public class RedisConfiguration {
     }
 
     @Bean
-    public RedisLockService redisLockService(RedisLockRegistry redisLockRegistry) {
-        return new RedisLockService(redisLockRegistry);
+    public RedisLockService redisLockService(RedisLockRegistry redisLockRegistry, ThreadProperties threadProperties, MeterRegistry meterRegistry) {
+        return new RedisLockService(redisLockRegistry, threadProperties.isVirtual() ? threadProperties.getLockConcurrency() : 0, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spock.cache.near", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TwoLevelCacheManager twoLevelCacheManager(RedisConnectionFactory redisConnectionFactory, SpockCacheProperties properties,
+                                                     StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry,
+                                                     ObjectProvider<CacheReloader> cacheReloaders) {
+        CacheRefresher refresher = null;
+        SpockCacheProperties.RefreshAhead refreshAhead = properties.getRedis().getRefreshAhead();
+        if (refreshAhead.isEnabled()) {
+            List<CacheReloader> reloaders = cacheReloaders.orderedStream().collect(Collectors.toList());
+            refresher = new CacheRefresher(stringRedisTemplate, reloaders, refreshAhead);
+        }
+        return new TwoLevelCacheManager(buildRedisCacheManager(redisConnectionFactory, properties), properties.getNear(),
+                stringRedisTemplate, meterRegistry, refresher);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spock.cache.near", name = "enabled", havingValue = "false")
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory, SpockCacheProperties properties) {
+        return buildRedisCacheManager(redisConnectionFactory, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spock.cache.near", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            TwoLevelCacheManager twoLevelCacheManager,
+                                                                            SpockCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(twoLevelCacheManager, new ChannelTopic(properties.getNear().getChannel()));
+        return container;
+    }
+
+    private RedisCacheManager buildRedisCacheManager(RedisConnectionFactory redisConnectionFactory, SpockCacheProperties cacheProperties) {
+        SpockCacheProperties.Redis properties = cacheProperties.getRedis();
+        UserRedisSerializer serializer = new UserRedisSerializer();
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(properties.getDefaultTtl())
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+        Map<String, RedisCacheConfiguration> configurations = new HashMap<>();
+        properties.getTtl().forEach((name, ttl) -> configurations.put(name, defaults.entryTtl(ttl)));
+        // 启用一级缓存时空值不写入 redis，未启用时空值在 redis 中使用 negative-ttl
+        RedisCacheWriter cacheWriter = new JitterRedisCacheWriter(RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory),
+                properties.getJitter(), serializer.serialize(NullValue.INSTANCE), cacheProperties.getNear().getNegativeTtl());
+        RedisCacheManager cacheManager = RedisCacheManager.builder(cacheWriter)
+                .cacheDefaults(defaults)
+                .withInitialCacheConfigurations(configurations)
+                .build();
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
     }
 }
@@ -0,0 +1,109 @@
+/*
+ * @(#)SpockCacheProperties 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 缓存配置.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Data
+@ConfigurationProperties(prefix = "spock.cache")
+public class SpockCacheProperties {
+    /**
+     * 进程内一级缓存配置
+     */
+    private Near near = new Near();
+    /**
+     * redis 二级缓存配置
+     */
+    private Redis redis = new Redis();
+
+    @Data
+    public static class Near {
+        /**
+         * 是否在 redis 缓存前启用进程内一级缓存
+         */
+        private boolean enabled = true;
+        /**
+         * 每个缓存的最大条数
+         */
+        private long maximumSize = 10000;
+        /**
+         * 写入后的有效期
+         */
+        private Duration expireAfterWrite = Duration.ofSeconds(60);
+        /**
+         * 空值的有效期，启用一级缓存时空值只保存在一级缓存中，未启用时空值在 redis 中使用该有效期
+         */
+        private Duration negativeTtl = Duration.ofSeconds(5);
+        /**
+         * 缓存失效广播的 redis 频道
+         */
+        private String channel = "spock:cache:invalidation";
+    }
+
+    @Data
+    public static class Redis {
+        /**
+         * 默认有效期，为 0 时不过期
+         */
+        private Duration defaultTtl = Duration.ofMinutes(30);
+        /**
+         * 按缓存名称配置的有效期
+         */
+        private Map<String, Duration> ttl = new LinkedHashMap<>();
+        /**
+         * 有效期随机增加的比例，避免同时写入的缓存同时过期
+         */
+        private double jitter = 0.1;
+        /**
+         * 提前刷新配置
+         */
+        private RefreshAhead refreshAhead = new RefreshAhead();
+    }
+
+    @Data
+    public static class RefreshAhead {
+        /**
+         * 是否在缓存即将过期时异步刷新，需要启用一级缓存
+         */
+        private boolean enabled = false;
+        /**
+         * 剩余有效期低于有效期的该比例时触发刷新
+         */
+        private double threshold = 0.2;
+        /**
+         * 刷新线程数
+         */
+        private int threads = 2;
+        /**
+         * 刷新任务队列长度，队列满时放弃刷新
+         */
+        private int queueCapacity = 1000;
+    }
+}
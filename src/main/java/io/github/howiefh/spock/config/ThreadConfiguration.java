@@ -0,0 +1,127 @@
+/*
+ * @(#)ThreadConfiguration 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config;
+
+import io.github.howiefh.spock.util.ConcurrencyLimitedDataSource;
+import io.github.howiefh.spock.util.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程配置.
+ * <p>
+ * spock.threads.virtual 为 true 且运行在 Java 21 及以上版本时，Tomcat 请求和用户服务的异步任务使用虚拟线程执行，
+ * 同时限制同时持有数据库连接的线程数，避免 JDBC 驱动中的 synchronized 固定全部载体线程。
+ * 只包装注入给其他 bean 的数据源，即标记为 {@link org.springframework.context.annotation.Primary} 的或唯一的数据源；
+ * 读写分离时主库数据源只由路由数据源使用，不再包装，否则获取一个连接会占用两个许可，且主库数据源不再是 HikariDataSource。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Slf4j
+@Configuration
+public class ThreadConfiguration {
+
+    /**
+     * 用户服务的异步任务执行器
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService userTaskExecutor(ThreadProperties properties) {
+        if (useVirtualThreads(properties.isVirtual())) {
+            return VirtualThreads.newVirtualThreadPerTaskExecutor("user-task-");
+        }
+        AtomicInteger index = new AtomicInteger();
+        return new ThreadPoolExecutor(properties.getTaskThreads(), properties.getTaskThreads(), 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(properties.getTaskQueueCapacity()),
+                runnable -> new Thread(runnable, "user-task-" + index.getAndIncrement()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 异步注册中持有锁并写入的执行器，与 userTaskExecutor 分开，持有锁的任务等待认证查询时不会占满查询线程；
+     * 队列长度与同时处理的异步注册上限一致，由 UserService 控制并发，不会触发拒绝
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService userRegisterExecutor(ThreadProperties properties, UserRegisterProperties registerProperties) {
+        if (useVirtualThreads(properties.isVirtual())) {
+            return VirtualThreads.newVirtualThreadPerTaskExecutor("user-register-");
+        }
+        AtomicInteger index = new AtomicInteger();
+        return new ThreadPoolExecutor(registerProperties.getAsyncThreads(), registerProperties.getAsyncThreads(), 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(registerProperties.getAsyncMaxInFlight()),
+                runnable -> new Thread(runnable, "user-register-" + index.getAndIncrement()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spock.threads.virtual", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (useVirtualThreads(true)) {
+                protocolHandler.setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor("tomcat-handler-"));
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spock.threads.virtual", havingValue = "true")
+    public static BeanPostProcessor jdbcConcurrencyLimiter(@Value("${spock.threads.jdbc-concurrency:10}") int concurrency,
+                                                           ConfigurableListableBeanFactory beanFactory) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ConcurrencyLimitedDataSource) && VirtualThreads.isSupported()
+                        && isPrimaryDataSource(beanFactory, beanName)) {
+                    return new ConcurrencyLimitedDataSource((DataSource) bean, concurrency);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static boolean isPrimaryDataSource(ConfigurableListableBeanFactory beanFactory, String beanName) {
+        if (!beanFactory.containsBeanDefinition(beanName)) {
+            return false;
+        }
+        return beanFactory.getMergedBeanDefinition(beanName).isPrimary()
+                || beanFactory.getBeanNamesForType(DataSource.class, true, false).length == 1;
+    }
+
+    private static boolean useVirtualThreads(boolean enabled) {
+        if (enabled && !VirtualThreads.isSupported()) {
+            log.warn("#useVirtualThreads 当前 Java 版本 {} 不支持虚拟线程，使用平台线程", Runtime.version());
+            return false;
+        }
+        return enabled;
+    }
+}
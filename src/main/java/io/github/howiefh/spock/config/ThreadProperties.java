@@ -0,0 +1,53 @@
+/*
+ * @(#)ThreadProperties 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 线程配置.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Data
+@ConfigurationProperties(prefix = "spock.threads")
+public class ThreadProperties {
+    /**
+     * 是否使用虚拟线程处理 Tomcat 请求和用户服务的异步任务，需要 Java 21 及以上版本
+     */
+    private boolean virtual = false;
+    /**
+     * 不使用虚拟线程时异步任务线程池的线程数
+     */
+    private int taskThreads = 16;
+    /**
+     * 不使用虚拟线程时异步任务线程池的队列长度
+     */
+    private int taskQueueCapacity = 1000;
+    /**
+     * 使用虚拟线程时同时持有数据库连接的最大线程数，JDBC 驱动中的 synchronized 会使虚拟线程固定在载体线程上
+     */
+    private int jdbcConcurrency = 10;
+    /**
+     * 使用虚拟线程时同时获取或释放 redis 锁的最大线程数
+     */
+    private int lockConcurrency = 50;
+}
@@ -0,0 +1,83 @@
+/*
+ * @(#)UserBloomFilterProperties 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 用户编号布隆过滤器配置.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Data
+@ConfigurationProperties(prefix = "spock.user.bloom-filter")
+public class UserBloomFilterProperties {
+    private Mode mode = Mode.NONE;
+    /**
+     * 第一层的容量，超出后按两倍容量扩容
+     */
+    private long expectedInsertions = 1_000_000;
+    /**
+     * 误判率
+     */
+    private double fpp = 0.01;
+    /**
+     * 最大层数
+     */
+    private int maxLayers = 8;
+    /**
+     * redis 共享时的键前缀
+     */
+    private String redisKey = "spock:user:bloom";
+    /**
+     * redis 共享时构建锁的有效期，构建节点异常退出后其他节点在锁过期后重新构建
+     */
+    private Duration buildLockTtl = Duration.ofMinutes(10);
+    /**
+     * redis 共享时检查就绪标记的间隔，等待其他节点构建完成或发现过滤器已失效
+     */
+    private long readyCheckIntervalMs = 5000;
+    /**
+     * redis 共享时本地缓存元素数的刷新间隔，间隔内其他节点写入的元素不能超过一层的容量
+     */
+    private long countRefreshMs = 1000;
+    /**
+     * 启动时扫描用户编号每次写入的条数
+     */
+    private int buildBatchSize = 1000;
+
+    public enum Mode {
+        /**
+         * 不使用布隆过滤器
+         */
+        NONE,
+        /**
+         * 进程内布隆过滤器，只适用于单节点，其他节点注册的用户不会写入本节点的过滤器
+         */
+        LOCAL,
+        /**
+         * 使用 redis bitmap 在节点间共享
+         */
+        REDIS
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * @(#)UserPageProperties 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 用户分页配置.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Data
+@ConfigurationProperties(prefix = "spock.user.page")
+public class UserPageProperties {
+    /**
+     * 总数统计方式
+     */
+    private CountMode countMode = CountMode.EXACT;
+    /**
+     * 总数缓存有效期
+     */
+    private Duration countCacheTtl = Duration.ofSeconds(30);
+    /**
+     * 总数缓存最大条数
+     */
+    private long countCacheMaximumSize = 1000;
+
+    public enum CountMode {
+        /**
+         * 每次分页都执行 count 查询
+         */
+        EXACT,
+        /**
+         * 短时缓存 count 查询结果，数据变更时失效
+         */
+        CACHED,
+        /**
+         * 不统计总数，多取一条记录判断是否存在下一页
+         */
+        NONE
+    }
+}
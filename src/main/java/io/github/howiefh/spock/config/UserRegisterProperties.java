@@ -0,0 +1,126 @@
+/*
+ * @(#)UserRegisterProperties 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 用户注册配置.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Data
+@ConfigurationProperties(prefix = "spock.user.register")
+public class UserRegisterProperties {
+    /**
+     * 单个用户注册的方式
+     */
+    private Strategy strategy = Strategy.LOCK;
+    /**
+     * 批量注册时每次 saveAll 写入的最大条数
+     */
+    private int batchSize = 200;
+    /**
+     * 批量注册单次请求的最大条数
+     */
+    private int maxBatchRequests = 1000;
+    /**
+     * 所有批量注册同时查询认证名称的上限，不超过认证服务最大并发数减一，为单个注册保留余量
+     */
+    private int batchAuthConcurrency = 5;
+    /**
+     * 异步注册执行锁定和写入的线程数，使用虚拟线程时忽略
+     */
+    private int asyncThreads = 32;
+    /**
+     * 同时处理的异步注册请求上限，超出时直接拒绝
+     */
+    private int asyncMaxInFlight = 1000;
+    private WriteBehind writeBehind = new WriteBehind();
+
+    /**
+     * 注册方式
+     */
+    public enum Strategy {
+        /**
+         * 使用 redis 锁防止并发重复注册，用户已存在时唯一键冲突
+         */
+        LOCK,
+        /**
+         * 不加锁，以幂等键和存在时忽略的写入语句去重，重复请求返回已有的注册结果
+         */
+        IDEMPOTENT
+    }
+
+    /**
+     * 延迟写入配置，只用于 redis 锁方式的单个用户注册
+     */
+    @Data
+    public static class WriteBehind {
+        /**
+         * 是否先写入本地预写日志并返回，由后台线程批量写入数据库
+         */
+        private boolean enabled = false;
+        /**
+         * 预写日志目录，同一目录只能由一个进程使用
+         */
+        private String walDirectory = "data/wal";
+        /**
+         * 预写日志段文件大小
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+        /**
+         * 每次写入预写日志后是否刷盘，关闭时进程崩溃不丢失数据，断电可能丢失最近的注册
+         */
+        private boolean sync = false;
+        /**
+         * 等待写入数据库的最大注册数，超出时直接拒绝
+         */
+        private int queueCapacity = 10000;
+        /**
+         * 每次 saveAll 写入的最大条数
+         */
+        private int batchSize = 500;
+        /**
+         * 收到第一条注册后等待合并的最长时间
+         */
+        private Duration linger = Duration.ofMillis(20);
+        /**
+         * 停止时等待剩余注册写入数据库的最长时间，未写入的注册在下次启动时从预写日志恢复
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+        /**
+         * 逐条写入仍然失败的注册写入的死信日志目录
+         */
+        private String deadLetterDirectory = "data/wal-dead-letter";
+        /**
+         * redis 中等待写入标记的键前缀，标记存在期间其他节点不接收同一用户的注册
+         */
+        private String pendingKeyPrefix = "spock:user:pending:";
+        /**
+         * 等待写入标记的有效期，应大于数据库不可用时可以容忍的写入延迟，节点异常退出后标记在过期后清除
+         */
+        private Duration pendingTtl = Duration.ofMinutes(30);
+    }
+}
@@ -17,15 +17,34 @@
  */
 package io.github.howiefh.spock.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.howiefh.spock.domain.PageInfo;
 import io.github.howiefh.spock.domain.Response;
 import io.github.howiefh.spock.domain.User;
+import io.github.howiefh.spock.domain.UserStatistics;
+import io.github.howiefh.spock.facade.dto.UserRegisterRequest;
+import io.github.howiefh.spock.facade.dto.UserRegisterResult;
 import io.github.howiefh.spock.service.UserService;
+import io.github.howiefh.spock.service.UserStatisticsService;
 import io.github.howiefh.spock.util.LoginUtils;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 /**
  * 用户控制器.
  *
@@ -42,6 +61,10 @@ public class UserController {
      */
     @Autowired
     private UserService userService;
+    @Autowired
+    private UserStatisticsService userStatisticsService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @GetMapping(value = "/{userNo}")
     public Response<User> get(@PathVariable String userNo) {
@@ -49,6 +72,68 @@ public class UserController {
         return Response.ok(user);
     }
 
+    /**
+     * 批量查询用户，只返回存在的用户.
+     *
+     * @param userNos
+     * @return
+     */
+    @GetMapping(value = "/batch")
+    public Response<List<User>> batchGet(@RequestParam @Size(max = 100, message = "用户编号不能超过100个") List<String> userNos) {
+        return Response.ok(userService.queryUsers(userNos));
+    }
+
+    /**
+     * 用户性别统计.
+     *
+     * @return
+     */
+    @GetMapping(value = "/statistics")
+    public Response<UserStatistics> statistics() {
+        return Response.ok(userStatisticsService.queryStatistics());
+    }
+
+    /**
+     * 游标分页查询，afterId 取上一页返回的 nextAfterId.
+     *
+     * @param afterId
+     * @param pageSize
+     * @return
+     */
+    @GetMapping(value = "/cursor")
+    public Response<PageInfo<User>> listByCursor(@RequestParam(required = false) Long afterId,
+                                                 @RequestParam(defaultValue = "20") @Min(value = 1, message = "分页数不能小于1") @Max(value = 100, message = "分页数不能超过100") int pageSize) {
+        PageInfo<User> pageInfo = new PageInfo<>();
+        pageInfo.setAfterId(afterId);
+        pageInfo.setPageSize(pageSize);
+        return Response.ok(userService.queryUserByCursor(pageInfo, new User()));
+    }
+
+    /**
+     * 以 NDJSON 格式流式导出全部用户，每行一个用户.
+     *
+     * @param response
+     * @throws IOException
+     */
+    @GetMapping(value = "/export")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ServletOutputStream out = response.getOutputStream();
+        ObjectWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        userService.exportUsers(new User(), user -> {
+            try {
+                writer.writeValue(out, user);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+    }
+
     @PostMapping(value = "")
     public Response<Boolean> register(@RequestBody @Validated() User user, HttpServletRequest request) {
         user.setUserNo(LoginUtils.getLoginId(request));
@@ -58,4 +143,15 @@ public class UserController {
         return Response.ok(true);
     }
 
+    /**
+     * 批量注册，返回每个用户的注册结果.
+     *
+     * @param requests
+     * @return
+     */
+    @PostMapping(value = "/batch")
+    public Response<List<UserRegisterResult>> batchRegister(@RequestBody List<UserRegisterRequest> requests) {
+        return Response.ok(userService.registerUsers(requests));
+    }
+
 }
@@ -0,0 +1,71 @@
+/*
+ * @(#)IdempotencyDao 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.dao.DuplicateKeyException;
+
+/**
+ * 幂等记录DAO类
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Mapper
+public interface IdempotencyDao {
+    /**
+     * 幂等键不存在时保存，已存在时忽略
+     * <p>
+     * H2 的写入语句先检查再插入，并发写入同一幂等键时仍可能唯一键冲突；MySQL 已存在时直接唯一键冲突，都视为已存在。
+     *
+     * @param key
+     *            幂等键
+     * @param bizNo
+     *            业务编号
+     * @return 写入的行数，已存在时为 0
+     */
+    default int saveIfAbsent(String key, String bizNo) {
+        try {
+            return saveIgnoreDuplicate(key, bizNo);
+        } catch (DuplicateKeyException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 幂等键不存在时保存；已存在时 H2 上返回 0，MySQL 上抛出唯一键冲突异常，应使用 {@link #saveIfAbsent(String, String)}
+     *
+     * @param key
+     *            幂等键
+     * @param bizNo
+     *            业务编号
+     * @return 写入的行数
+     */
+    int saveIgnoreDuplicate(@Param("key") String key, @Param("bizNo") String bizNo);
+
+    /**
+     * 根据幂等键查找业务编号
+     *
+     * @param key
+     *            幂等键
+     * @return 业务编号，不存在时为 {@literal null}
+     */
+    String findBizNo(@Param("key") String key);
+}
@@ -21,7 +21,11 @@ import io.github.howiefh.spock.domain.User;
 import io.github.howiefh.spock.domain.UserStatistics;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.dao.DuplicateKeyException;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -42,6 +46,32 @@ public interface UserDao {
      */
     int save(User entity);
 
+    /**
+     * 用户编号不存在时将实体存入数据库，已存在时忽略，不抛出唯一键冲突异常
+     * <p>
+     * H2 的写入语句先检查再插入，并发写入同一用户时仍可能唯一键冲突；MySQL 已存在时直接唯一键冲突，都视为已存在。
+     *
+     * @param entity
+     *            保存的实体
+     * @return 写入的行数，已存在时为 0
+     */
+    default int saveIfAbsent(User entity) {
+        try {
+            return saveIgnoreDuplicate(entity);
+        } catch (DuplicateKeyException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 用户编号不存在时将实体存入数据库；已存在时 H2 上返回 0，MySQL 上抛出唯一键冲突异常，应使用 {@link #saveIfAbsent(User)}
+     *
+     * @param entity
+     *            保存的实体
+     * @return 写入的行数
+     */
+    int saveIgnoreDuplicate(User entity);
+
     /**
      * 将实体批量存入数据库
      *
@@ -60,6 +90,15 @@ public interface UserDao {
      */
     User findOne(User entity);
 
+    /**
+     * 根据用户编号批量查找实体
+     *
+     * @param userNos
+     *            用户编号，不能为空集合
+     * @return 找到的实体，不保证顺序
+     */
+    List<User> findByUserNos(@Param("userNos") Collection<String> userNos);
+
     /**
      * 按条件查找，返回找到的所有实体的集合
      * @param entity
@@ -69,6 +108,22 @@ public interface UserDao {
      */
     List<User> findBy(User entity);
 
+    /**
+     * 按条件流式查找，按 id 顺序逐条读取，需要在事务中使用并在使用后关闭
+     *
+     * @param entity
+     *            不能为 {@literal null}.
+     * @return 实体游标
+     */
+    Cursor<User> streamBy(User entity);
+
+    /**
+     * 逐条读取全部用户编号，包含已删除的用户
+     *
+     * @param handler 处理每个用户编号
+     */
+    void scanUserNos(ResultHandler<String> handler);
+
     /**
      * 按条件查找，返回找到所有可用的实体的个数
      * @param entity
@@ -87,6 +142,15 @@ public interface UserDao {
      */
     List<User> findPageBy(User entity);
 
+    /**
+     * 根据游标查找符合条件的实体集合，按 id 倒序返回 id 小于 afterId 的前 rows 条记录
+     *
+     * @param entity
+     *            包含查找条件及游标的实体
+     * @return
+     */
+    List<User> findPageAfter(User entity);
+
     /**
      * 更新一个实体
      *
@@ -104,7 +168,7 @@ public interface UserDao {
     int delete(User entity);
 
     /**
-     * 统计
+     * 统计未删除用户的性别分布，需要扫描全表，日常查询使用 redis 中的计数
      * @return
      */
     UserStatistics statistics();
@@ -0,0 +1,78 @@
+/*
+ * @(#)ReadRoutingInterceptor 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.dao.interceptor;
+
+import io.github.howiefh.spock.datasource.DataSourceRouting;
+import io.github.howiefh.spock.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.keygen.SelectKeyGenerator;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 查询路由拦截器，事务外的查询语句使用从库.
+ * <p>
+ * 以下查询不指定路由，使用主库：已经指定路由；处于事务中，连接与事务绑定，由事务是否只读决定；
+ * selectKey 语句，需要与写语句使用同一个连接；{@link ReadYourWritesTracker} 判断需要读到最近的写入。
+ * 路由只在执行语句时有效，连接在执行语句时获取。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})})
+public class ReadRoutingInterceptor implements Interceptor {
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Counter replicaReads;
+    private final Counter readYourWrites;
+
+    public ReadRoutingInterceptor(ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.replicaReads = Counter.builder("datasource.read").tag("route", "replica").register(meterRegistry);
+        this.readYourWrites = Counter.builder("datasource.read").tag("route", "read-your-writes").register(meterRegistry);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        if (ms.getSqlCommandType() != SqlCommandType.SELECT || ms.getId().endsWith(SelectKeyGenerator.SELECT_KEY_SUFFIX)
+                || DataSourceRouting.current() != null || TransactionSynchronizationManager.isSynchronizationActive()) {
+            return invocation.proceed();
+        }
+        if (readYourWritesTracker.requiresPrimary(args[1])) {
+            readYourWrites.increment();
+            return invocation.proceed();
+        }
+        replicaReads.increment();
+        return DataSourceRouting.call(DataSourceRouting.REPLICA, invocation::proceed);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * @(#)SlowStatementLog 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.dao.interceptor;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 慢语句环形缓冲区，只保留最近的 capacity 条记录，写入无锁.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public class SlowStatementLog {
+    private final AtomicReferenceArray<SlowStatement> buffer;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SlowStatementLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("慢语句列表容量必须大于 0");
+        }
+        this.buffer = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(SlowStatement statement) {
+        long index = sequence.getAndIncrement();
+        buffer.set((int) (index % buffer.length()), statement);
+    }
+
+    /**
+     * 按时间倒序返回当前保留的慢语句
+     *
+     * @return
+     */
+    public List<SlowStatement> snapshot() {
+        long end = sequence.get();
+        int size = (int) Math.min(end, buffer.length());
+        List<SlowStatement> statements = new ArrayList<>(size);
+        for (long i = end - 1; i >= end - size; i--) {
+            SlowStatement statement = buffer.get((int) (i % buffer.length()));
+            if (statement != null) {
+                statements.add(statement);
+            }
+        }
+        return statements;
+    }
+
+    public void clear() {
+        for (int i = 0; i < buffer.length(); i++) {
+            buffer.set(i, null);
+        }
+    }
+
+    @Data
+    public static class SlowStatement {
+        /**
+         * 语句 id，即 mapper 接口全限定名加方法名
+         */
+        private String id;
+        private String sql;
+        /**
+         * 绑定的参数值，按占位符顺序
+         */
+        private List<String> parameters;
+        private long elapsedMillis;
+        /**
+         * 影响或返回的行数，使用 ResultHandler 查询时为 -1
+         */
+        private int rows;
+        private String thread;
+        private Date executedAt;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * @(#)StatementMetricsEndpoint 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.dao.interceptor;
+
+import io.github.howiefh.spock.dao.interceptor.StatementMetricsInterceptor.StatementMeters;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 语句统计端点 /actuator/statements，返回每条语句的耗时、行数汇总和最近的慢语句.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Endpoint(id = "statements")
+public class StatementMetricsEndpoint {
+    private final StatementMetricsInterceptor interceptor;
+    private final SlowStatementLog slowStatementLog;
+
+    public StatementMetricsEndpoint(StatementMetricsInterceptor interceptor, SlowStatementLog slowStatementLog) {
+        this.interceptor = interceptor;
+        this.slowStatementLog = slowStatementLog;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statements() {
+        List<Map<String, Object>> statements = interceptor.getMeters().entrySet().stream()
+                .map(entry -> summary(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(summary -> -((Number) summary.get("totalMillis")).doubleValue()))
+                .collect(Collectors.toList());
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statements", statements);
+        result.put("slow", slowStatementLog.snapshot());
+        return result;
+    }
+
+    /**
+     * 清空慢语句列表
+     */
+    @DeleteOperation
+    public void clear() {
+        slowStatementLog.clear();
+    }
+
+    private static Map<String, Object> summary(String id, StatementMeters meters) {
+        HistogramSnapshot snapshot = meters.getTimer().takeSnapshot();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("statement", id);
+        summary.put("count", snapshot.count());
+        summary.put("totalMillis", snapshot.total(TimeUnit.MILLISECONDS));
+        summary.put("meanMillis", snapshot.mean(TimeUnit.MILLISECONDS));
+        summary.put("maxMillis", snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            summary.put("p" + Math.round(percentile.percentile() * 100) + "Millis", percentile.value(TimeUnit.MILLISECONDS));
+        }
+        summary.put("rows", meters.getRows().totalAmount());
+        return summary;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * @(#)StatementMetricsInterceptor 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.dao.interceptor;
+
+import io.github.howiefh.spock.dao.interceptor.SlowStatementLog.SlowStatement;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 语句统计拦截器.
+ * <p>
+ * 按语句 id 记录耗时分布 mybatis.statement 和行数分布 mybatis.statement.rows，
+ * 耗时超过阈值的语句记录到 {@link SlowStatementLog}，开启 captureParameters 时连同绑定参数值，否则参数值以 *** 代替。
+ * 绑定参数只在慢语句上解析，正常语句只有计时的开销。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})})
+public class StatementMetricsInterceptor implements Interceptor {
+    private static final String MASK = "***";
+
+    private final MeterRegistry meterRegistry;
+    private final SlowStatementLog slowStatementLog;
+    private final long slowThresholdNanos;
+    /**
+     * 是否保留参数值，不保留时以 {@link #MASK} 代替
+     */
+    private final boolean captureParameters;
+    private final int maxParameterLength;
+    private final Map<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    public StatementMetricsInterceptor(MeterRegistry meterRegistry, SlowStatementLog slowStatementLog,
+                                       Duration slowThreshold, boolean captureParameters, int maxParameterLength) {
+        this.meterRegistry = meterRegistry;
+        this.slowStatementLog = slowStatementLog;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.captureParameters = captureParameters;
+        this.maxParameterLength = maxParameterLength;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Object[] args = invocation.getArgs();
+            MappedStatement ms = (MappedStatement) args[0];
+            int rows = rows(result);
+            StatementMeters statementMeters = meters.computeIfAbsent(ms.getId(), this::newMeters);
+            statementMeters.timer.record(elapsed, TimeUnit.NANOSECONDS);
+            if (rows >= 0) {
+                statementMeters.rows.record(rows);
+            }
+            if (elapsed >= slowThresholdNanos) {
+                BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+                slowStatementLog.add(slowStatement(ms, boundSql, args[1], elapsed, rows));
+            }
+        }
+    }
+
+    /**
+     * 已经执行过的语句的统计
+     *
+     * @return
+     */
+    public Map<String, StatementMeters> getMeters() {
+        return meters;
+    }
+
+    private StatementMeters newMeters(String id) {
+        Timer timer = Timer.builder("mybatis.statement")
+                .tag("statement", id)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        DistributionSummary rows = DistributionSummary.builder("mybatis.statement.rows")
+                .tag("statement", id)
+                .register(meterRegistry);
+        return new StatementMeters(timer, rows);
+    }
+
+    private static int rows(Object result) {
+        if (result instanceof Integer) {
+            return (Integer) result;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        return -1;
+    }
+
+    private SlowStatement slowStatement(MappedStatement ms, BoundSql boundSql, Object parameterObject, long elapsed, int rows) {
+        SlowStatement statement = new SlowStatement();
+        statement.setId(ms.getId());
+        statement.setSql(boundSql.getSql().replaceAll("\\s+", " ").trim());
+        statement.setParameters(parameters(ms.getConfiguration(), boundSql, parameterObject));
+        statement.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed));
+        statement.setRows(rows);
+        statement.setThread(Thread.currentThread().getName());
+        statement.setExecutedAt(new Date());
+        return statement;
+    }
+
+    /**
+     * 与 DefaultParameterHandler 相同的方式取出绑定参数，不保留参数值时每个参数以 {@link #MASK} 代替
+     */
+    private List<String> parameters(Configuration configuration, BoundSql boundSql, Object parameterObject) {
+        List<String> parameters = new ArrayList<>(boundSql.getParameterMappings().size());
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            if (!captureParameters) {
+                parameters.add(MASK);
+                continue;
+            }
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                value = configuration.newMetaObject(parameterObject).getValue(property);
+            }
+            parameters.add(abbreviate(String.valueOf(value)));
+        }
+        return parameters;
+    }
+
+    private String abbreviate(String value) {
+        return value.length() <= maxParameterLength ? value : value.substring(0, maxParameterLength) + "...";
+    }
+
+    public static class StatementMeters {
+        private final Timer timer;
+        private final DistributionSummary rows;
+
+        private StatementMeters(Timer timer, DistributionSummary rows) {
+            this.timer = timer;
+            this.rows = rows;
+        }
+
+        public Timer getTimer() {
+            return timer;
+        }
+
+        public DistributionSummary getRows() {
+            return rows;
+        }
+    }
+}
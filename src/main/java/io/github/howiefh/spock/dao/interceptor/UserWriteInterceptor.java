@@ -0,0 +1,83 @@
+/*
+ * @(#)UserWriteInterceptor 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.dao.interceptor;
+
+import io.github.howiefh.spock.dao.UserDao;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 用户写操作拦截器，{@link UserDao} 的写语句执行成功后通知 {@link UserWriteListener}.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Slf4j
+@Intercepts({@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})})
+public class UserWriteInterceptor implements Interceptor {
+    private static final String NAMESPACE = UserDao.class.getName() + ".";
+
+    /**
+     * 监听器在首次写操作时才获取，避免监听器依赖 DAO 时产生循环依赖
+     */
+    private final ObjectProvider<UserWriteListener> listenerProvider;
+    private volatile List<UserWriteListener> listeners;
+
+    public UserWriteInterceptor(ObjectProvider<UserWriteListener> listenerProvider) {
+        this.listenerProvider = listenerProvider;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        String id = ms.getId();
+        if (id.startsWith(NAMESPACE)) {
+            String method = id.substring(NAMESPACE.length());
+            Object parameter = invocation.getArgs()[1];
+            int rows = result instanceof Integer ? (Integer) result : 0;
+            for (UserWriteListener listener : getListeners()) {
+                try {
+                    listener.afterWrite(method, parameter, rows);
+                } catch (RuntimeException e) {
+                    log.warn("#afterWrite 监听器异常, listener: {}, method: {}, e: ", listener.getClass().getSimpleName(), method, e);
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<UserWriteListener> getListeners() {
+        List<UserWriteListener> current = listeners;
+        if (current == null) {
+            current = listenerProvider.orderedStream().collect(Collectors.toList());
+            listeners = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * @(#)UserWriteListener 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.dao.interceptor;
+
+/**
+ * 用户写操作监听器，{@link io.github.howiefh.spock.dao.UserDao} 的写语句执行成功后回调.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public interface UserWriteListener {
+
+    /**
+     * 写语句执行成功后回调
+     *
+     * @param method    DAO 方法名，如 save、saveAll、update、delete
+     * @param parameter 语句参数
+     * @param rows      影响行数
+     */
+    void afterWrite(String method, Object parameter, int rows);
+}
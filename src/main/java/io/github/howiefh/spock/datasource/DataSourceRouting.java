@@ -0,0 +1,98 @@
+/*
+ * @(#)DataSourceRouting 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.datasource;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 当前线程的数据源路由.
+ * <p>
+ * 未指定时写语句和事务中的语句使用主库，只读事务使用从库；事务外的查询由
+ * {@link io.github.howiefh.spock.dao.interceptor.ReadRoutingInterceptor} 指定为从库。
+ * 写入前的存在性检查等不能读到复制延迟数据的查询使用 {@link #onPrimary(Supplier)} 指定主库。
+ * 未开启读写分离时指定路由没有影响。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public final class DataSourceRouting {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final ThreadLocal<String> ROUTE = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * 当前线程指定的路由
+     *
+     * @return {@link #PRIMARY}、{@link #REPLICA}，未指定时为 {@literal null}
+     */
+    public static String current() {
+        return ROUTE.get();
+    }
+
+    /**
+     * 指定路由执行
+     *
+     * @param route    {@link #PRIMARY} 或 {@link #REPLICA}
+     * @param callable 执行的操作
+     * @return 操作结果
+     * @throws Exception 操作抛出的异常
+     */
+    public static <T> T call(String route, Callable<T> callable) throws Exception {
+        String previous = push(route);
+        try {
+            return callable.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * 使用主库执行
+     *
+     * @param supplier 执行的操作
+     * @return 操作结果
+     */
+    public static <T> T onPrimary(Supplier<T> supplier) {
+        String previous = push(PRIMARY);
+        try {
+            return supplier.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private static String push(String route) {
+        String previous = ROUTE.get();
+        ROUTE.set(route);
+        return previous;
+    }
+
+    private static void restore(String previous) {
+        if (previous == null) {
+            ROUTE.remove();
+        } else {
+            ROUTE.set(previous);
+        }
+    }
+}
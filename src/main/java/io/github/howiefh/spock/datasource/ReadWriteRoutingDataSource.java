@@ -0,0 +1,110 @@
+/*
+ * @(#)ReadWriteRoutingDataSource 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 读写分离数据源.
+ * <p>
+ * 路由为 {@link DataSourceRouting#REPLICA}，或未指定路由时处于只读事务中，从 {@link ReplicaPool} 选择从库，其余使用主库。
+ * 从库获取连接失败时摘除该从库并改为从主库获取连接。
+ * <p>
+ * 事务开始时获取连接，此时还不能判断事务是否只读，需要使用
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} 包装，在执行第一条语句时才获取连接。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private final DataSource primary;
+    private final ReplicaPool replicaPool;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> connections = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failovers = new ConcurrentHashMap<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicaPool, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+        this.meterRegistry = meterRegistry;
+        Map<Object, Object> targets = new HashMap<>(replicaPool.getDataSources());
+        targets.put(DataSourceRouting.PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String route = DataSourceRouting.current();
+        boolean read = DataSourceRouting.REPLICA.equals(route) || (route == null
+                && TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        String replica = read ? replicaPool.choose() : null;
+        return replica != null ? replica : DataSourceRouting.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        String key = (String) determineCurrentLookupKey();
+        if (!DataSourceRouting.PRIMARY.equals(key)) {
+            try {
+                Connection connection = connect(getResolvedDataSources().get(key), username, password);
+                connections.computeIfAbsent(key, this::connectionCounter).increment();
+                return connection;
+            } catch (SQLException e) {
+                replicaPool.markFailure(key, e);
+                failovers.computeIfAbsent(key, replica -> Counter.builder("datasource.replica.failover")
+                        .tag("replica", replica)
+                        .register(meterRegistry)).increment();
+                log.warn("#getConnection 从库获取连接失败，改为使用主库, replica: {}, e: {}", key, e.toString());
+            }
+        }
+        Connection connection = connect(primary, username, password);
+        connections.computeIfAbsent(DataSourceRouting.PRIMARY, this::connectionCounter).increment();
+        return connection;
+    }
+
+    private Counter connectionCounter(String target) {
+        return Counter.builder("datasource.connection")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static Connection connect(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+}
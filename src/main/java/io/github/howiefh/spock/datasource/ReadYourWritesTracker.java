@@ -0,0 +1,113 @@
+/*
+ * @(#)ReadYourWritesTracker 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.howiefh.spock.dao.interceptor.UserWriteListener;
+import io.github.howiefh.spock.domain.User;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 记录最近的写入，写入后一段时间内相关的查询读主库，避免读到从库复制延迟前的数据.
+ * <p>
+ * 两种情况读主库：当前线程在窗口内写入过；查询条件中的用户编号在窗口内被写入过。
+ * 其他节点的写入无法感知，窗口应按从库的复制延迟设置。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+public class ReadYourWritesTracker implements UserWriteListener {
+    private final long windowNanos;
+    private final Cache<String, Boolean> recentUserNos;
+    private final ThreadLocal<Long> lastWrite = new ThreadLocal<>();
+
+    public ReadYourWritesTracker(Duration window, long maximumSize) {
+        this.windowNanos = window.toNanos();
+        this.recentUserNos = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public void afterWrite(String method, Object parameter, int rows) {
+        if (rows <= 0) {
+            return;
+        }
+        lastWrite.set(System.nanoTime());
+        if (parameter instanceof User) {
+            record((User) parameter);
+        } else if (parameter instanceof Map && ((Map<?, ?>) parameter).get("collection") instanceof Collection) {
+            for (Object user : (Collection<?>) ((Map<?, ?>) parameter).get("collection")) {
+                if (user instanceof User) {
+                    record((User) user);
+                }
+            }
+        }
+    }
+
+    /**
+     * 查询是否需要读主库
+     *
+     * @param parameter 查询参数
+     * @return 是否读主库
+     */
+    public boolean requiresPrimary(Object parameter) {
+        Long last = lastWrite.get();
+        if (last != null) {
+            if (System.nanoTime() - last < windowNanos) {
+                return true;
+            }
+            lastWrite.remove();
+        }
+        if (parameter instanceof User) {
+            return isRecent(((User) parameter).getUserNo());
+        }
+        if (parameter instanceof Map) {
+            for (Object value : ((Map<?, ?>) parameter).values()) {
+                if (value instanceof Collection) {
+                    for (Object element : (Collection<?>) value) {
+                        if (element instanceof String ? isRecent((String) element)
+                                : element instanceof User && isRecent(((User) element).getUserNo())) {
+                            return true;
+                        }
+                    }
+                } else if (value instanceof String ? isRecent((String) value)
+                        : value instanceof User && isRecent(((User) value).getUserNo())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void record(User user) {
+        if (user.getUserNo() != null) {
+            recentUserNos.put(user.getUserNo(), Boolean.TRUE);
+        }
+    }
+
+    private boolean isRecent(String userNo) {
+        return userNo != null && recentUserNos.getIfPresent(userNo) != null;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * @(#)ReplicaPool 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 从库集合.
+ * <p>
+ * 在可用的从库间按权重轮询。从库连续健康检查失败达到阈值、或查询获取连接失败时被摘除，
+ * 摘除后连续健康检查成功达到阈值时恢复。可用列表在状态变化时重建，选择从库时不加锁。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Slf4j
+public class ReplicaPool implements Closeable {
+    private final Map<String, Replica> replicas;
+    private final int failureThreshold;
+    private final int recoveryThreshold;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    /**
+     * 可用从库按权重展开的轮询列表
+     */
+    private volatile List<Replica> available;
+
+    /**
+     * @param dataSources        从库名称及数据源
+     * @param weights            从库名称及权重，缺少时为 1
+     * @param failureThreshold   连续检查失败该次数后摘除
+     * @param recoveryThreshold  摘除后连续检查成功该次数后恢复
+     * @param validationTimeout  校验连接的超时时间
+     * @param meterRegistry
+     */
+    public ReplicaPool(Map<String, DataSource> dataSources, Map<String, Integer> weights, int failureThreshold,
+                       int recoveryThreshold, Duration validationTimeout, MeterRegistry meterRegistry) {
+        this.replicas = new LinkedHashMap<>(dataSources.size() * 2);
+        dataSources.forEach((name, dataSource) -> {
+            if (DataSourceRouting.PRIMARY.equals(name)) {
+                throw new IllegalArgumentException("从库名称不能为 " + DataSourceRouting.PRIMARY);
+            }
+            Replica replica = new Replica(name, dataSource, Math.max(1, weights.getOrDefault(name, 1)));
+            replicas.put(name, replica);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        });
+        this.failureThreshold = failureThreshold;
+        this.recoveryThreshold = recoveryThreshold;
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.getSeconds());
+        rebuild();
+    }
+
+    /**
+     * 轮询选择一个可用的从库
+     *
+     * @return 从库名称，没有可用的从库时为 {@literal null}
+     */
+    public String choose() {
+        List<Replica> current = available;
+        if (current.isEmpty()) {
+            return null;
+        }
+        return current.get(Math.floorMod(next.getAndIncrement(), current.size())).name;
+    }
+
+    /**
+     * 从库数据源
+     *
+     * @return 从库名称及数据源
+     */
+    public Map<String, DataSource> getDataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>(replicas.size() * 2);
+        replicas.forEach((name, replica) -> dataSources.put(name, replica.dataSource));
+        return dataSources;
+    }
+
+    public boolean isHealthy(String name) {
+        Replica replica = replicas.get(name);
+        return replica != null && replica.healthy;
+    }
+
+    /**
+     * 查询获取连接失败，立即摘除
+     *
+     * @param name 从库名称
+     * @param e    异常
+     */
+    public void markFailure(String name, Throwable e) {
+        Replica replica = replicas.get(name);
+        if (replica == null) {
+            return;
+        }
+        synchronized (replica) {
+            replica.successes = 0;
+            replica.failures = Math.max(replica.failures + 1, failureThreshold);
+            if (replica.healthy) {
+                replica.healthy = false;
+                log.warn("#markFailure 从库获取连接失败，摘除从库, replica: {}, e: {}", name, e.toString());
+                rebuild();
+            }
+        }
+    }
+
+    /**
+     * 定时检查全部从库
+     */
+    @Scheduled(fixedDelayString = "${spock.datasource.routing.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas.values()) {
+            boolean valid = validate(replica);
+            synchronized (replica) {
+                if (valid) {
+                    replica.failures = 0;
+                    replica.successes++;
+                    if (!replica.healthy && replica.successes >= recoveryThreshold) {
+                        replica.healthy = true;
+                        log.info("#checkHealth 从库恢复, replica: {}", replica.name);
+                        rebuild();
+                    }
+                } else {
+                    replica.successes = 0;
+                    replica.failures++;
+                    if (replica.healthy && replica.failures >= failureThreshold) {
+                        replica.healthy = false;
+                        log.warn("#checkHealth 从库连续 {} 次检查失败，摘除从库, replica: {}", replica.failures, replica.name);
+                        rebuild();
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean validate(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            return connection.isValid(validationTimeoutSeconds);
+        } catch (Exception e) {
+            log.debug("#validate 从库检查失败, replica: {}, e: {}", replica.name, e.toString());
+            return false;
+        }
+    }
+
+    private synchronized void rebuild() {
+        List<Replica> list = new ArrayList<>();
+        for (Replica replica : replicas.values()) {
+            if (replica.healthy) {
+                for (int i = 0; i < replica.weight; i++) {
+                    list.add(replica);
+                }
+            }
+        }
+        available = Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas.values()) {
+            if (replica.dataSource instanceof Closeable) {
+                try {
+                    ((Closeable) replica.dataSource).close();
+                } catch (Exception e) {
+                    log.warn("#close 关闭从库数据源失败, replica: {}, e: ", replica.name, e);
+                }
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final int weight;
+        private volatile boolean healthy = true;
+        private int failures;
+        private int successes;
+
+        private Replica(String name, DataSource dataSource, int weight) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.weight = weight;
+        }
+    }
+}
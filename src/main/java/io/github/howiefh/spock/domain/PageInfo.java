@@ -40,12 +40,24 @@ public class PageInfo<T extends Serializable> {
      */
     private int pageSize;
     /**
-     * 总记录数
+     * 总记录数，不统计总数时为 -1
      */
     private long total;
+    /**
+     * 是否存在下一页
+     */
+    private boolean hasNext;
     /**
      * 分页记录列表
      */
     private List<T> items;
+    /**
+     * 游标，上一页最后一条记录的 id，为空时从第一页开始（仅游标分页使用）
+     */
+    private Long afterId;
+    /**
+     * 下一页游标，为空表示没有更多记录（仅游标分页使用）
+     */
+    private Long nextAfterId;
 
 }
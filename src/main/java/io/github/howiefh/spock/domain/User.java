@@ -36,6 +36,9 @@ import java.util.Date;
 public class User implements Serializable {
     private static final long serialVersionUID = -1952516537390031872L;
     public static final int NORMAL = 0;
+    public static final int DELETED = 1;
+    public static final int MALE = 1;
+    public static final int FEMALE = 2;
     /**
      * id
      */
@@ -71,16 +74,33 @@ public class User implements Serializable {
      * 页面记录条数
      */
     private int rows;
+    /**
+     * 游标，查询 id 小于该值的记录
+     */
+    private Long afterId;
+    /**
+     * 额外多取的记录条数，用于判断是否存在下一页
+     */
+    private int lookahead;
 
     public int getOffset() {
         return (this.page - 1) * this.rows;
     }
 
+    public int getLimit() {
+        return this.rows + this.lookahead;
+    }
+
     public void fillPaging(PageInfo<?> pageInfo) {
         setPage(pageInfo.getPageNum());
         setRows(pageInfo.getPageSize());
     }
 
+    public void fillCursorPaging(PageInfo<?> pageInfo) {
+        setAfterId(pageInfo.getAfterId());
+        setRows(pageInfo.getPageSize());
+    }
+
     public void init() {
         this.setDeleteFlag(NORMAL);
         this.setVersion(0);
@@ -19,6 +19,10 @@ package io.github.howiefh.spock.facade;
 
 import io.github.howiefh.spock.facade.dto.DataResponse;
 import io.github.howiefh.spock.facade.dto.UserRegisterRequest;
+import io.github.howiefh.spock.facade.dto.UserRegisterResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 用户接口.
@@ -36,4 +40,20 @@ public interface UserFacade {
      */
     DataResponse<Boolean> register(UserRegisterRequest request);
 
+    /**
+     * 异步注册用户
+     *
+     * @param request 用户对象，包含用户的信息
+     * @return 注册完成后得到响应对象，成功时包含用户编号
+     */
+    CompletableFuture<DataResponse<String>> registerAsync(UserRegisterRequest request);
+
+    /**
+     * 批量注册用户
+     *
+     * @param requests 用户对象列表
+     * @return 响应对象，包含与请求顺序一致的每个用户的注册结果
+     */
+    DataResponse<List<UserRegisterResult>> batchRegister(List<UserRegisterRequest> requests);
+
 }
@@ -19,12 +19,17 @@ package io.github.howiefh.spock.facade;
 
 import io.github.howiefh.spock.facade.dto.DataResponse;
 import io.github.howiefh.spock.facade.dto.UserRegisterRequest;
+import io.github.howiefh.spock.facade.dto.UserRegisterResult;
 import io.github.howiefh.spock.service.UserService;
 import io.github.howiefh.spock.util.ExceptionUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * 用户接口.
  *
@@ -61,4 +66,52 @@ public class UserFacadeImpl implements UserFacade {
         }
     }
 
+    /**
+     * 异步注册用户
+     *
+     * @param request 用户对象，包含用户的信息
+     * @return 注册完成后得到响应对象，成功时包含用户编号
+     */
+    @Override
+    public CompletableFuture<DataResponse<String>> registerAsync(UserRegisterRequest request) {
+        CompletableFuture<String> future;
+        try {
+            log.info("#registerAsync 请求, request: {}", request);
+            future = userService.registerUserAsync(request);
+        } catch (Exception e) {
+            log.error("#registerAsync 异常, e: ", e);
+            return CompletableFuture.completedFuture(DataResponse.error(400, ExceptionUtils.buildMessage(e)));
+        }
+        return future.handle((userNo, e) -> {
+            if (e == null) {
+                DataResponse<String> response = DataResponse.ok(userNo);
+                log.info("#registerAsync 响应, response: {}", response);
+                return response;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.error("#registerAsync 异常, e: ", cause);
+            return DataResponse.error(400, ExceptionUtils.buildMessage(cause instanceof Exception ? (Exception) cause : new IllegalStateException(cause)));
+        });
+    }
+
+    /**
+     * 批量注册用户
+     *
+     * @param requests 用户对象列表
+     * @return 响应对象，包含与请求顺序一致的每个用户的注册结果
+     */
+    @Override
+    public DataResponse<List<UserRegisterResult>> batchRegister(List<UserRegisterRequest> requests) {
+        try {
+            log.info("#batchRegister 请求, size: {}", requests != null ? requests.size() : 0);
+            List<UserRegisterResult> results = userService.registerUsers(requests);
+            DataResponse<List<UserRegisterResult>> response = DataResponse.ok(results);
+            log.info("#batchRegister 响应, response: {}", response);
+            return response;
+        } catch (Exception e) {
+            log.error("#batchRegister 异常, e: ", e);
+            return DataResponse.error(400, ExceptionUtils.buildMessage(e));
+        }
+    }
+
 }
@@ -18,6 +18,7 @@
 package io.github.howiefh.spock.facade.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.io.Serializable;
@@ -50,4 +51,8 @@ public class UserRegisterRequest implements Serializable {
     @NotBlank(message = "请填写邀请码")
     private String invitorNo;
 
+    /** 幂等键，幂等注册时使用，为空时以用户编号作为幂等键 */
+    @Size(max = 64, message = "幂等键不能超过64个字符")
+    private String idempotencyKey;
+
 }
@@ -0,0 +1,73 @@
+/*
+ * @(#)UserRegisterResult 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.facade.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 用户注册结果，批量注册时每个请求对应一个结果.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Data
+public class UserRegisterResult implements Serializable {
+
+    /**
+     * 序列号
+     */
+    private static final long serialVersionUID = -6094317215806543268L;
+    /** 用户编号 */
+    private String userNo;
+    /** 结果码，200 成功 */
+    private int code;
+    /** 失败原因 */
+    private String msg;
+
+    /**
+     * 构造成功结果.
+     *
+     * @param userNo 用户编号
+     * @return 成功结果
+     */
+    public static UserRegisterResult ok(String userNo) {
+        UserRegisterResult result = new UserRegisterResult();
+        result.setUserNo(userNo);
+        result.setCode(200);
+        return result;
+    }
+
+    /**
+     * 构造失败结果.
+     *
+     * @param userNo 用户编号
+     * @param code 错误代码
+     * @param msg 错误消息
+     * @return 失败结果
+     */
+    public static UserRegisterResult error(String userNo, int code, String msg) {
+        UserRegisterResult result = new UserRegisterResult();
+        result.setUserNo(userNo);
+        result.setCode(code);
+        result.setMsg(msg);
+        return result;
+    }
+}
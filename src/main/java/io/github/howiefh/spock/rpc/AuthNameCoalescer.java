@@ -0,0 +1,194 @@
+/*
+ * @(#)AuthNameCoalescer 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.rpc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 认证名称查询合并器.
+ * <p>
+ * 收到第一个查询后最多等待 window 时间或凑满 maxSize 个查询，将其合并为一次批量查询，
+ * 相同登录id的查询只查一次，结果分别完成各自调用方的 future。单个后台线程负责凑批，批量查询交给
+ * 最多 concurrency 个线程执行；所有线程都在执行时暂停凑批，期间到达的查询会合并到更大的下一批。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Slf4j
+public class AuthNameCoalescer implements AutoCloseable {
+    private final Function<List<String>, Map<String, String>> loader;
+    private final int maxSize;
+    private final long windowNanos;
+    private final BlockingQueue<Request> queue;
+    private final Thread worker;
+    private final ExecutorService flushExecutor;
+    /**
+     * 同时执行的批量查询许可
+     */
+    private final Semaphore flushPermits;
+    private volatile boolean running = true;
+
+    /**
+     * @param loader        批量查询，返回登录id到认证名称的映射
+     * @param maxSize       单次批量查询的最大条数
+     * @param window        等待合并的最长时间
+     * @param queueCapacity 等待合并的查询上限
+     */
+    public AuthNameCoalescer(Function<List<String>, Map<String, String>> loader, int maxSize, Duration window, int queueCapacity) {
+        this(loader, maxSize, window, queueCapacity, 1);
+    }
+
+    /**
+     * @param loader        批量查询，返回登录id到认证名称的映射
+     * @param maxSize       单次批量查询的最大条数
+     * @param window        等待合并的最长时间
+     * @param queueCapacity 等待合并的查询上限
+     * @param concurrency   同时执行的批量查询数，与认证服务的并发隔离上限一致
+     */
+    public AuthNameCoalescer(Function<List<String>, Map<String, String>> loader, int maxSize, Duration window, int queueCapacity,
+                             int concurrency) {
+        this.loader = loader;
+        this.maxSize = maxSize;
+        this.windowNanos = window.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushPermits = new Semaphore(concurrency);
+        AtomicInteger threads = new AtomicInteger();
+        this.flushExecutor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "auth-name-flush-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.worker = new Thread(this::run, "auth-name-coalescer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 提交查询.
+     *
+     * @param loginId
+     * @return 认证名称，未认证时为 {@literal null}
+     */
+    public CompletableFuture<String> submit(String loginId) {
+        Request request = new Request(loginId);
+        if (!running || !queue.offer(request)) {
+            request.future.completeExceptionally(new IllegalStateException("认证查询排队已满"));
+        }
+        return request.future;
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Request first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Request> batch = new ArrayList<>(maxSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Request next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        Request request;
+        while ((request = queue.poll()) != null) {
+            request.future.completeExceptionally(new IllegalStateException("认证查询已关闭"));
+        }
+    }
+
+    /**
+     * 等待空闲的执行线程后提交批量查询，等待期间批次已凑好，中断时以失败完成
+     */
+    private void dispatch(List<Request> batch) throws InterruptedException {
+        try {
+            flushPermits.acquire();
+        } catch (InterruptedException e) {
+            batch.forEach(request -> request.future.completeExceptionally(new IllegalStateException("认证查询已关闭")));
+            throw e;
+        }
+        flushExecutor.execute(() -> {
+            try {
+                flush(batch);
+            } finally {
+                flushPermits.release();
+            }
+        });
+    }
+
+    private void flush(List<Request> batch) {
+        Map<String, List<CompletableFuture<String>>> futures = new LinkedHashMap<>();
+        for (Request request : batch) {
+            futures.computeIfAbsent(request.loginId, key -> new ArrayList<>(1)).add(request.future);
+        }
+        try {
+            Map<String, String> names = loader.apply(new ArrayList<>(futures.keySet()));
+            futures.forEach((loginId, list) -> list.forEach(future -> future.complete(names.get(loginId))));
+        } catch (RuntimeException e) {
+            log.error("#flush 批量查询认证名称失败, size: {}", futures.size(), e);
+            futures.values().forEach(list -> list.forEach(future -> future.completeExceptionally(e)));
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+            flushExecutor.shutdown();
+            flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Request {
+        private final String loginId;
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+
+        private Request(String loginId) {
+            this.loginId = loginId;
+        }
+    }
+}
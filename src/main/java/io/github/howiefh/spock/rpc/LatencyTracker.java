@@ -0,0 +1,73 @@
+/*
+ * @(#)LatencyTracker 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.rpc;
+
+import java.util.Arrays;
+
+/**
+ * 记录最近若干次调用的耗时并计算分位数.
+ * <p>
+ * 分位数每记录 {@link #RECOMPUTE_INTERVAL} 个样本重新计算一次，读取时不需要排序。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class LatencyTracker {
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    private final long[] samples;
+    private final double percentile;
+    private int count;
+    private int next;
+    private volatile long cached = -1;
+
+    /**
+     * @param size       保留的样本数
+     * @param percentile 分位数，如 0.95
+     */
+    LatencyTracker(int size, double percentile) {
+        this.samples = new long[size];
+        this.percentile = percentile;
+    }
+
+    /**
+     * 记录一次调用耗时
+     *
+     * @param nanos 耗时，纳秒
+     */
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (count >= RECOMPUTE_INTERVAL && next % RECOMPUTE_INTERVAL == 0) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            cached = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    /**
+     * @return 分位数耗时，纳秒，样本不足时为 -1
+     */
+    long percentileNanos() {
+        return cached;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * @(#)ResilientAuthRpc 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.rpc;
+
+import io.github.howiefh.spock.config.AuthRpcProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 带并发隔离、熔断和对冲请求的认证服务调用.
+ * <p>
+ * 同时调用认证服务的线程数超过 bulkhead 限制时直接拒绝；最近调用的失败率或慢调用比例超过阈值时熔断，
+ * 熔断期间快速失败，不再占用 Tomcat 线程等待读超时。启用对冲请求时，调用超过最近耗时的 p95 仍未返回，
+ * 再发送一次相同请求，取先成功的结果并取消另一次请求。认证查询是只读的，重复发送没有副作用。
+ * 每个通过 bulkhead 的调用最多同时有两次请求，对冲线程池的大小为 bulkhead 并发数的两倍。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Service
+@Slf4j
+public class ResilientAuthRpc implements DisposableBean {
+    private static final String NAME = "authRpc";
+
+    private final UserAuthRpc userAuthRpc;
+    private final AuthRpcProperties.Hedge hedge;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final LatencyTracker latencyTracker;
+    private final ThreadPoolExecutor hedgeExecutor;
+    private final Counter hedgeCounter;
+
+    public ResilientAuthRpc(UserAuthRpc userAuthRpc, AuthRpcProperties properties, MeterRegistry meterRegistry) {
+        this.userAuthRpc = userAuthRpc;
+        this.hedge = properties.getHedge();
+
+        AuthRpcProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(breaker.getFailureRateThreshold())
+                .slowCallRateThreshold(breaker.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(breaker.getSlowCallDurationThreshold())
+                .slidingWindowSize(breaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(breaker.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedNumberOfCallsInHalfOpenState())
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.getBulkhead().getMaxConcurrentCalls())
+                .maxWaitDuration(properties.getBulkhead().getMaxWaitDuration())
+                .build());
+        this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+
+        this.latencyTracker = new LatencyTracker(512, hedge.getPercentile());
+        this.hedgeCounter = Counter.builder("rpc.hedged.requests").tag("name", NAME).register(meterRegistry);
+        this.hedgeExecutor = hedge.isEnabled() ? new ThreadPoolExecutor(0, properties.getBulkhead().getMaxConcurrentCalls() * 2, 60L,
+                TimeUnit.SECONDS, new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy()) : null;
+    }
+
+    /**
+     * 获取认证名称.
+     *
+     * @param loginId
+     * @return
+     */
+    public String queryAuthName(String loginId) {
+        return call(() -> userAuthRpc.queryAuthName(loginId));
+    }
+
+    /**
+     * 批量获取认证名称.
+     *
+     * @param loginIds
+     * @return
+     */
+    public Map<String, String> queryAuthNames(Collection<String> loginIds) {
+        return call(() -> userAuthRpc.queryAuthNames(loginIds));
+    }
+
+    private <T> T call(Supplier<T> supplier) {
+        Supplier<T> attempt = hedgeExecutor == null ? supplier : () -> hedged(supplier);
+        try {
+            return CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, attempt)).get();
+        } catch (CallNotPermittedException e) {
+            throw new IllegalStateException("认证服务暂不可用，请稍后重试", e);
+        } catch (BulkheadFullException e) {
+            throw new IllegalStateException("认证服务繁忙，请稍后重试", e);
+        }
+    }
+
+    /**
+     * 在对冲线程池中发送请求，超过对冲延迟未返回时再发送一次，返回先成功的结果，都失败时抛出最后一个异常；
+     * 返回前取消仍在执行的请求
+     */
+    private <T> T hedged(Supplier<T> supplier) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        List<Future<?>> attempts = new ArrayList<>(2);
+        if (!submit(supplier, result, pending, attempts)) {
+            return supplier.get();
+        }
+        try {
+            return result.get(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            pending.incrementAndGet();
+            if (submit(supplier, result, pending, attempts)) {
+                hedgeCounter.increment();
+            } else {
+                pending.decrementAndGet();
+            }
+            return await(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("认证服务调用中断", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } finally {
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    private <T> boolean submit(Supplier<T> supplier, CompletableFuture<T> result, AtomicInteger pending, List<Future<?>> attempts) {
+        try {
+            attempts.add(hedgeExecutor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    T value = supplier.get();
+                    latencyTracker.record(System.nanoTime() - start);
+                    result.complete(value);
+                } catch (RuntimeException e) {
+                    if (pending.decrementAndGet() == 0) {
+                        result.completeExceptionally(e);
+                    }
+                }
+            }));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("#submit 对冲线程池已满");
+            return false;
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("认证服务调用中断", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private long hedgeDelayNanos() {
+        long percentile = latencyTracker.percentileNanos();
+        long delay = percentile < 0 ? hedge.getDelay().toNanos() : percentile;
+        return Math.max(delay, hedge.getMinDelay().toNanos());
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+            return (RuntimeException) e.getCause();
+        }
+        return new IllegalStateException("认证服务调用失败", e.getCause());
+    }
+
+    /**
+     * @return 熔断器，用于查看状态
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    public void destroy() {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * @(#)UserAuthClient 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.rpc;
+
+import io.github.howiefh.spock.cache.AuthNameCache;
+import io.github.howiefh.spock.config.AuthRpcProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 用户认证客户端，启用缓存时先查询 {@link AuthNameCache}；启用合并查询时并发的认证名称查询
+ * 通过 {@link AuthNameCoalescer} 合并为批量查询，否则直接调用 {@link ResilientAuthRpc}.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Service
+public class UserAuthClient implements InitializingBean, DisposableBean {
+    @Autowired
+    private ResilientAuthRpc resilientAuthRpc;
+    @Autowired
+    private AuthRpcProperties authRpcProperties;
+    @Autowired
+    private AuthNameCache authNameCache;
+
+    private AuthNameCoalescer coalescer;
+
+    @Override
+    public void afterPropertiesSet() {
+        AuthRpcProperties.Batch batch = authRpcProperties.getBatch();
+        if (batch.isEnabled()) {
+            coalescer = new AuthNameCoalescer(resilientAuthRpc::queryAuthNames, batch.getMaxSize(), batch.getWindow(), batch.getQueueCapacity(),
+                    authRpcProperties.getBulkhead().getMaxConcurrentCalls());
+        }
+    }
+
+    /**
+     * 获取认证名称.
+     *
+     * @param loginId
+     * @return
+     */
+    public String queryAuthName(String loginId) {
+        if (authRpcProperties.getCache().isEnabled()) {
+            return authNameCache.get(loginId, this::load);
+        }
+        return load(loginId);
+    }
+
+    private String load(String loginId) {
+        if (coalescer == null) {
+            return resilientAuthRpc.queryAuthName(loginId);
+        }
+        try {
+            return coalescer.submit(loginId).get(authRpcProperties.getBatch().getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("认证服务调用中断", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("认证服务调用超时", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("认证服务调用失败", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (coalescer != null) {
+            coalescer.close();
+        }
+    }
+}
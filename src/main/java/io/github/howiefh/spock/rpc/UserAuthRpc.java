@@ -17,6 +17,7 @@
  */
 package io.github.howiefh.spock.rpc;
 
+import io.github.howiefh.spock.config.AuthRpcProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
@@ -24,7 +25,12 @@ import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -38,6 +44,8 @@ import java.util.Map;
 public class UserAuthRpc {
     @Autowired
     private RestTemplate restTemplate;
+    @Autowired
+    private AuthRpcProperties authRpcProperties;
 
     /**
      * 获取认证名称.
@@ -46,7 +54,7 @@ public class UserAuthRpc {
      * @return
      */
     public String queryAuthName(String loginId) {
-        RequestEntity<Void> requestEntity = RequestEntity.get("https://mock.apifox.com/m1/3732898-0-default/users/auth?loginId=" + loginId).accept(MediaType.APPLICATION_JSON).build();
+        RequestEntity<Void> requestEntity = RequestEntity.get(authRpcProperties.getBaseUrl() + "/users/auth?loginId=" + loginId).accept(MediaType.APPLICATION_JSON).build();
         ResponseEntity<Map<String, Object>> responseEntity = restTemplate.exchange(requestEntity, new ParameterizedTypeReference<Map<String, Object>>(){});
         Map<String, Object> body = responseEntity.getBody();
         if (body == null) {
@@ -54,4 +62,28 @@ public class UserAuthRpc {
         }
         return String.valueOf(body.get("data"));
     }
+
+    /**
+     * 批量获取认证名称.
+     *
+     * @param loginIds
+     * @return 登录id到认证名称的映射，未认证的登录id不包含在内
+     */
+    public Map<String, String> queryAuthNames(Collection<String> loginIds) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(authRpcProperties.getBaseUrl() + "/users/auth/batch")
+                .queryParam("loginIds", String.join(",", loginIds)).build().encode().toUri();
+        RequestEntity<Void> requestEntity = RequestEntity.get(uri).accept(MediaType.APPLICATION_JSON).build();
+        ResponseEntity<Map<String, Object>> responseEntity = restTemplate.exchange(requestEntity, new ParameterizedTypeReference<Map<String, Object>>(){});
+        Map<String, Object> body = responseEntity.getBody();
+        if (body == null || !(body.get("data") instanceof Map)) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> names = new HashMap<>();
+        ((Map<?, ?>) body.get("data")).forEach((key, value) -> {
+            if (value != null) {
+                names.put(String.valueOf(key), String.valueOf(value));
+            }
+        });
+        return names;
+    }
 }
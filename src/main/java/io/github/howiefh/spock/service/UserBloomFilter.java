@@ -0,0 +1,278 @@
+/*
+ * @(#)UserBloomFilter 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.service;
+
+import io.github.howiefh.spock.cache.LocalBloomBitStore;
+import io.github.howiefh.spock.cache.RedisBloomBitStore;
+import io.github.howiefh.spock.cache.ScalableBloomFilter;
+import io.github.howiefh.spock.config.UserBloomFilterProperties;
+import io.github.howiefh.spock.dao.UserDao;
+import io.github.howiefh.spock.dao.interceptor.UserWriteListener;
+import io.github.howiefh.spock.domain.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 用户编号布隆过滤器.
+ * <p>
+ * 启动后在后台线程逐条扫描 sys_user 的用户编号构建，新增用户时通过 {@link UserWriteListener} 写入。
+ * 构建完成前、未启用或访问 redis 出错时都返回可能存在，只有确定不存在时才跳过缓存和数据库。
+ * 删除的用户不会从过滤器中移除，只会增加误判，不影响正确性。
+ * <p>
+ * redis 共享时只有获取到构建锁的节点扫描数据库，完成后写入就绪标记，其他节点等待就绪标记出现。
+ * 写入 redis 失败时清除就绪标记并重新构建，避免漏写的用户被误判为不存在。
+ * <p>
+ * 重新构建时持有构建锁清空后再扫描，已删除的用户不会一直保留在过滤器中。清空前等待一个就绪检查间隔，
+ * 其他节点发现就绪标记已清除后才清空；清空后再等待一个间隔，清空前写入过滤器但还未提交的用户提交后才开始扫描。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Service
+@Slf4j
+public class UserBloomFilter implements UserWriteListener {
+    @Autowired
+    private UserBloomFilterProperties properties;
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ScalableBloomFilter filter;
+    private String readyKey;
+    private String buildingKey;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean ready;
+    private final AtomicBoolean building = new AtomicBoolean();
+    private Counter absent;
+    private Counter present;
+
+    @PostConstruct
+    public void init() {
+        UserBloomFilterProperties.Mode mode = properties.getMode();
+        if (mode == UserBloomFilterProperties.Mode.NONE) {
+            return;
+        }
+        readyKey = properties.getRedisKey() + ":ready";
+        buildingKey = properties.getRedisKey() + ":building";
+        if (mode == UserBloomFilterProperties.Mode.REDIS) {
+            filter = new ScalableBloomFilter(new RedisBloomBitStore(redisTemplate, properties.getRedisKey(), properties.getMaxLayers()),
+                    properties.getExpectedInsertions(), properties.getFpp(), properties.getMaxLayers(), properties.getCountRefreshMs());
+        } else {
+            filter = new ScalableBloomFilter(new LocalBloomBitStore(properties.getMaxLayers()),
+                    properties.getExpectedInsertions(), properties.getFpp(), properties.getMaxLayers());
+        }
+        absent = Counter.builder("user.bloom.filter").tag("result", "absent").register(meterRegistry);
+        present = Counter.builder("user.bloom.filter").tag("result", "present").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        startBuild();
+    }
+
+    /**
+     * 是否已构建完成，未启用时为 {@literal false}
+     *
+     * @return
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 用户编号是否可能存在，返回 {@literal false} 时一定不存在
+     *
+     * @param userNo
+     * @return
+     */
+    public boolean mightContain(String userNo) {
+        return mightContainAll(List.of(userNo))[0];
+    }
+
+    /**
+     * 批量检查用户编号是否可能存在
+     *
+     * @param userNos
+     * @return 与 userNos 顺序一致的检查结果
+     */
+    public boolean[] mightContainAll(List<String> userNos) {
+        boolean[] result = new boolean[userNos.size()];
+        if (!ready) {
+            Arrays.fill(result, true);
+            return result;
+        }
+        try {
+            result = filter.mightContainAll(userNos);
+        } catch (RuntimeException e) {
+            log.warn("#mightContainAll 布隆过滤器检查失败, e: ", e);
+            Arrays.fill(result, true);
+            return result;
+        }
+        for (boolean contained : result) {
+            (contained ? present : absent).increment();
+        }
+        return result;
+    }
+
+    /**
+     * 新增用户后写入，包括 save、saveAll、saveIgnoreDuplicate
+     */
+    @Override
+    public void afterWrite(String method, Object parameter, int rows) {
+        if (filter == null || rows <= 0 || !method.startsWith("save")) {
+            return;
+        }
+        List<String> userNos = new ArrayList<>();
+        if (parameter instanceof User) {
+            userNos.add(((User) parameter).getUserNo());
+        } else if (parameter instanceof Map && ((Map<?, ?>) parameter).get("collection") instanceof Collection) {
+            for (Object user : (Collection<?>) ((Map<?, ?>) parameter).get("collection")) {
+                userNos.add(((User) user).getUserNo());
+            }
+        }
+        try {
+            filter.putAll(userNos);
+        } catch (RuntimeException e) {
+            log.warn("#afterWrite 布隆过滤器写入失败，重新构建, e: ", e);
+            invalidate();
+        }
+    }
+
+    /**
+     * redis 共享时检查就绪标记，其他节点写入失败清除标记后本节点也停止使用并等待重新构建
+     */
+    @Scheduled(fixedDelayString = "${spock.user.bloom-filter.ready-check-interval-ms:5000}")
+    public void checkReady() {
+        if (!ready || properties.getMode() != UserBloomFilterProperties.Mode.REDIS) {
+            return;
+        }
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(readyKey))) {
+                log.info("#checkReady 布隆过滤器就绪标记已清除，等待重新构建");
+                ready = false;
+                startBuild();
+            }
+        } catch (RuntimeException e) {
+            log.warn("#checkReady 检查就绪标记失败, e: ", e);
+        }
+    }
+
+    /**
+     * 停止使用当前过滤器并在后台重新构建
+     */
+    public void invalidate() {
+        if (filter == null) {
+            return;
+        }
+        ready = false;
+        if (properties.getMode() == UserBloomFilterProperties.Mode.REDIS) {
+            try {
+                redisTemplate.delete(readyKey);
+            } catch (RuntimeException e) {
+                log.warn("#invalidate 清除就绪标记失败, e: ", e);
+            }
+        }
+        startBuild();
+    }
+
+    private void startBuild() {
+        if (filter == null || !building.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                if (properties.getMode() == UserBloomFilterProperties.Mode.REDIS) {
+                    buildShared();
+                } else {
+                    build();
+                    ready = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("#startBuild 布隆过滤器构建失败, e: ", e);
+            } finally {
+                building.set(false);
+            }
+        }, "user-bloom-filter-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 等待其他节点构建完成，或获取构建锁后构建
+     */
+    private void buildShared() throws InterruptedException {
+        while (!Boolean.TRUE.equals(redisTemplate.hasKey(readyKey))) {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(buildingKey, nodeId, properties.getBuildLockTtl()))) {
+                try {
+                    build();
+                    redisTemplate.opsForValue().set(readyKey, nodeId);
+                } finally {
+                    if (nodeId.equals(redisTemplate.opsForValue().get(buildingKey))) {
+                        redisTemplate.delete(buildingKey);
+                    }
+                }
+                break;
+            }
+            TimeUnit.MILLISECONDS.sleep(properties.getReadyCheckIntervalMs());
+        }
+        ready = true;
+    }
+
+    private void build() throws InterruptedException {
+        if (filter.getCount() > 0) {
+            TimeUnit.MILLISECONDS.sleep(properties.getReadyCheckIntervalMs());
+            filter.clear();
+            TimeUnit.MILLISECONDS.sleep(properties.getReadyCheckIntervalMs());
+        }
+        long start = System.currentTimeMillis();
+        int batchSize = properties.getBuildBatchSize();
+        List<String> batch = new ArrayList<>(batchSize);
+        userDao.scanUserNos(context -> {
+            batch.add(context.getResultObject());
+            if (batch.size() >= batchSize) {
+                filter.putAll(batch);
+                batch.clear();
+            }
+        });
+        filter.putAll(batch);
+        log.info("#build 布隆过滤器构建完成, count: {}, cost: {}ms", filter.getCount(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * @(#)UserCacheReloader 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.service;
+
+import io.github.howiefh.spock.cache.CacheReloader;
+import io.github.howiefh.spock.dao.UserDao;
+import io.github.howiefh.spock.domain.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户缓存重新加载器.
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Component
+public class UserCacheReloader implements CacheReloader {
+    @Autowired
+    private UserDao userDao;
+
+    @Override
+    public String getCacheName() {
+        return "users";
+    }
+
+    @Override
+    public Object reload(Object key) {
+        User query = new User();
+        query.setUserNo((String) key);
+        return userDao.findOne(query);
+    }
+}
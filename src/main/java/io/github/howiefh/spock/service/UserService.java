@@ -18,24 +18,60 @@
 package io.github.howiefh.spock.service;
 
 import io.github.howiefh.spock.cache.RedisLockService;
+import io.github.howiefh.spock.cache.TwoLevelCache;
+import io.github.howiefh.spock.cache.UserCountCache;
+import io.github.howiefh.spock.config.AuthRpcProperties;
+import io.github.howiefh.spock.config.UserPageProperties;
+import io.github.howiefh.spock.config.UserRegisterProperties;
+import io.github.howiefh.spock.dao.IdempotencyDao;
 import io.github.howiefh.spock.dao.UserDao;
+import io.github.howiefh.spock.datasource.DataSourceRouting;
 import io.github.howiefh.spock.domain.PageInfo;
 import io.github.howiefh.spock.domain.User;
 import io.github.howiefh.spock.facade.dto.UserRegisterRequest;
-import io.github.howiefh.spock.rpc.UserAuthRpc;
+import io.github.howiefh.spock.facade.dto.UserRegisterResult;
+import io.github.howiefh.spock.rpc.UserAuthClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * 用户服务类.
@@ -51,18 +87,92 @@ public class UserService {
     @Autowired
     private UserDao userDao;
     @Autowired
-    private UserAuthRpc userAuthRpc;
+    private IdempotencyDao idempotencyDao;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private UserAuthClient userAuthClient;
     @Autowired
     private RedisLockService redisLockService;
+    @Autowired
+    private UserPageProperties userPageProperties;
+    @Autowired
+    private UserCountCache userCountCache;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private UserRegisterProperties userRegisterProperties;
+    @Autowired
+    private AuthRpcProperties authRpcProperties;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private UserStatisticsService userStatisticsService;
+    @Autowired
+    private UserBloomFilter userBloomFilter;
+    @Autowired
+    private UserWriteBehindBuffer userWriteBehindBuffer;
+    @Autowired
+    private ExecutorService userTaskExecutor;
+    @Autowired
+    private ExecutorService userRegisterExecutor;
+
+    /**
+     * 同时处理的异步注册请求许可
+     */
+    private Semaphore asyncPermits;
+    /**
+     * 所有批量注册共享的认证名称查询许可
+     */
+    private Semaphore batchAuthPermits;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 注册各阶段耗时，加锁等待和持有时间由 {@link RedisLockService} 记录
+     */
+    private Timer registerTimer;
+    private Timer rpcTimer;
+    private Timer dbTimer;
+
+    @PostConstruct
+    public void init() {
+        asyncPermits = new Semaphore(userRegisterProperties.getAsyncMaxInFlight());
+        batchAuthPermits = new Semaphore(Math.max(1, Math.min(userRegisterProperties.getBatchAuthConcurrency(),
+                authRpcProperties.getBulkhead().getMaxConcurrentCalls() - 1)));
+        registerTimer = phaseTimer("total");
+        rpcTimer = phaseTimer("rpc");
+        dbTimer = phaseTimer("db");
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("user.register.phase")
+                .tag("phase", phase)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录耗时，只读取两次 nanoTime，不创建额外对象
+     */
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
 
     /**
      * 注册用户.
      *
      * @param request
      */
+    @CacheEvict(value = "users", key = "#request.userNo")
     public String registerUser(@Valid @NotNull UserRegisterRequest request) {
         User user = new User();
         BeanUtils.copyProperties(request, user);
+        if (userRegisterProperties.getStrategy() == UserRegisterProperties.Strategy.IDEMPOTENT) {
+            return registerIdempotent(user, request.getIdempotencyKey());
+        }
         return registerUser(user);
     }
 
@@ -71,39 +181,531 @@ public class UserService {
      *
      * @param user
      */
+    @CacheEvict(value = "users", key = "#user.userNo")
     public String registerUser(User user) {
+        if (userRegisterProperties.getStrategy() == UserRegisterProperties.Strategy.IDEMPOTENT) {
+            return registerIdempotent(user, null);
+        }
+        long start = System.nanoTime();
         Lock lock = redisLockService.getLock(user.getUserNo());
         boolean locked = lock.tryLock();
         if (!locked) {
+            // 未获取到锁的请求同样计入总耗时，拒绝次数由 lock.contention 记录
+            record(registerTimer, start);
             return user.getUserNo();
         }
         try {
-            String name = userAuthRpc.queryAuthName(user.getUserNo());
+            long rpcStart = System.nanoTime();
+            String name = userAuthClient.queryAuthName(user.getUserNo());
+            record(rpcTimer, rpcStart);
+            if (!StringUtils.hasText(name)) {
+                throw new IllegalStateException("用户未认证");
+            }
+            user.init();
+            user.setUserName(name);
+            long dbStart = System.nanoTime();
+            if (userWriteBehindBuffer.isEnabled()) {
+                bufferUser(user);
+            } else {
+                userDao.save(user);
+            }
+            record(dbTimer, dbStart);
+            return user.getUserNo();
+        } finally {
+            lock.unlock();
+            record(registerTimer, start);
+        }
+    }
+
+    /**
+     * 延迟写入，写入预写日志后即返回.
+     * <p>
+     * 写入数据库时已存在的用户会被忽略，所以在返回前检查用户是否已存在，布隆过滤器确定不存在时不查询数据库。
+     *
+     * @param user
+     */
+    private void bufferUser(User user) {
+        if (userBloomFilter.mightContain(user.getUserNo())) {
+            User query = new User();
+            query.setUserNo(user.getUserNo());
+            if (DataSourceRouting.onPrimary(() -> userDao.findOne(query)) != null) {
+                throw new IllegalStateException("记录已存在");
+            }
+        }
+        userWriteBehindBuffer.add(user);
+    }
+
+    /**
+     * 幂等注册用户，不使用 redis 锁.
+     * <p>
+     * 幂等键已存在时直接返回之前的注册结果；否则在同一事务中写入幂等记录和用户，两者都使用存在时忽略的写入语句，
+     * 并发或重复的请求不会产生唯一键冲突异常，用户已存在时返回已有的用户编号。
+     *
+     * @param user
+     * @param idempotencyKey 幂等键，为空时以用户编号作为幂等键
+     * @return 用户编号
+     */
+    private String registerIdempotent(User user, String idempotencyKey) {
+        long start = System.nanoTime();
+        try {
+            String key = StringUtils.hasText(idempotencyKey) ? idempotencyKey : "register:" + user.getUserNo();
+            String registered = idempotencyDao.findBizNo(key);
+            if (registered != null) {
+                return registered;
+            }
+            long rpcStart = System.nanoTime();
+            String name = userAuthClient.queryAuthName(user.getUserNo());
+            record(rpcTimer, rpcStart);
             if (!StringUtils.hasText(name)) {
                 throw new IllegalStateException("用户未认证");
             }
             user.init();
             user.setUserName(name);
-            userDao.save(user);
+            long dbStart = System.nanoTime();
+            String userNo = transactionTemplate.execute(status -> {
+                if (idempotencyDao.saveIfAbsent(key, user.getUserNo()) == 0) {
+                    // 相同幂等键的请求并发写入，以先写入的结果为准
+                    return idempotencyDao.findBizNo(key);
+                }
+                userDao.saveIfAbsent(user);
+                return user.getUserNo();
+            });
+            record(dbTimer, dbStart);
+            return userNo;
+        } finally {
+            record(registerTimer, start);
+        }
+    }
+
+    /**
+     * 异步注册用户.
+     * <p>
+     * 与同步注册使用相同的注册方式：幂等注册直接在 userRegisterExecutor 中执行；使用 redis 锁时认证名称查询、
+     * 用户是否存在的检查与加锁同时进行，耗时接近三者中的最大值而不是总和，加锁、写入和解锁在 userRegisterExecutor 的同一线程中完成，
+     * 启用延迟写入时写入预写日志。同时处理的请求超过上限时直接返回失败。
+     *
+     * @param request
+     * @return 用户编号
+     */
+    public CompletableFuture<String> registerUserAsync(@Valid @NotNull UserRegisterRequest request) {
+        User user = new User();
+        BeanUtils.copyProperties(request, user);
+        if (!asyncPermits.tryAcquire()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("注册请求过多，请稍后重试"));
+        }
+        CompletableFuture<String> name = null;
+        CompletableFuture<Boolean> exists = null;
+        try {
+            CompletableFuture<String> result;
+            if (userRegisterProperties.getStrategy() == UserRegisterProperties.Strategy.IDEMPOTENT) {
+                result = CompletableFuture.supplyAsync(() -> registerIdempotent(user, request.getIdempotencyKey()), userRegisterExecutor);
+            } else {
+                long start = System.nanoTime();
+                name = CompletableFuture.supplyAsync(() -> {
+                    long rpcStart = System.nanoTime();
+                    String authName = userAuthClient.queryAuthName(user.getUserNo());
+                    record(rpcTimer, rpcStart);
+                    return authName;
+                }, userTaskExecutor);
+                exists = CompletableFuture.supplyAsync(() -> exists(user.getUserNo()), userTaskExecutor);
+                CompletableFuture<String> authName = name;
+                CompletableFuture<Boolean> existing = exists;
+                result = CompletableFuture.supplyAsync(() -> saveLocked(user, authName, existing), userRegisterExecutor);
+                result.whenComplete((userNo, e) -> record(registerTimer, start));
+            }
+            result.whenComplete((userNo, e) -> asyncPermits.release());
+            return result;
+        } catch (RejectedExecutionException e) {
+            cancel(name, exists);
+            asyncPermits.release();
+            return CompletableFuture.failedFuture(new IllegalStateException("注册请求过多，请稍后重试"));
+        }
+    }
+
+    /**
+     * 用户是否已存在，包括已注册但还未写入数据库的用户
+     */
+    private boolean exists(String userNo) {
+        if (userWriteBehindBuffer.getPending(userNo) != null) {
+            return true;
+        }
+        if (!userBloomFilter.mightContain(userNo)) {
+            return false;
+        }
+        return DataSourceRouting.onPrimary(() -> findUser(userNo)) != null;
+    }
+
+    /**
+     * 取消还未开始执行的异步任务，已经开始的任务结果被忽略
+     */
+    private static void cancel(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * 加锁后等待认证名称和存在检查的结果并写入，未获取到锁时与同步注册一样直接返回，并取消认证名称查询和存在检查.
+     *
+     * @param user
+     * @param name   认证名称
+     * @param exists 用户是否已存在
+     * @return 用户编号
+     */
+    private String saveLocked(User user, CompletableFuture<String> name, CompletableFuture<Boolean> exists) {
+        Lock lock = redisLockService.getLock(user.getUserNo());
+        if (!lock.tryLock()) {
+            cancel(name, exists);
+            return user.getUserNo();
+        }
+        try {
+            String authName = join(name);
+            if (!StringUtils.hasText(authName)) {
+                throw new IllegalStateException("用户未认证");
+            }
+            // 存在检查在加锁前开始，其间写入缓冲区的重复注册由缓冲区拒绝
+            if (join(exists)) {
+                throw new IllegalStateException("记录已存在");
+            }
+            user.init();
+            user.setUserName(authName);
+            long dbStart = System.nanoTime();
+            if (userWriteBehindBuffer.isEnabled()) {
+                userWriteBehindBuffer.add(user);
+            } else {
+                try {
+                    userDao.save(user);
+                } catch (DuplicateKeyException e) {
+                    throw new IllegalStateException("记录已存在", e);
+                }
+            }
+            record(dbTimer, dbStart);
+            Cache cache = cacheManager.getCache("users");
+            if (cache != null) {
+                cache.evict(user.getUserNo());
+            }
             return user.getUserNo();
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * 批量注册用户.
+     * <p>
+     * 逐条校验参数、去重、检查是否已存在（布隆过滤器确定不存在的用户不查询数据库），在异步任务执行器中并发查询认证名称，
+     * 所有批量注册同时进行的查询不超过 batch-auth-concurrency，为单个注册保留认证服务的并发余量；通过校验的用户按配置的条数分批 saveAll 写入；
+     * 某一批出现唯一键冲突或其他写入失败时退化为逐条写入，冲突只影响对应的记录，不会导致整批失败；逐条写入仍然失败的用户记为 500。
+     * 认证名称查询失败的用户记为 503，其余用户继续写入。
+     *
+     * @param requests
+     * @return 与请求顺序一致的注册结果
+     */
+    public List<UserRegisterResult> registerUsers(@NotNull List<UserRegisterRequest> requests) {
+        if (requests.size() > userRegisterProperties.getMaxBatchRequests()) {
+            throw new IllegalStateException("批量注册不能超过" + userRegisterProperties.getMaxBatchRequests() + "个用户");
+        }
+        UserRegisterResult[] results = new UserRegisterResult[requests.size()];
+        Map<String, Integer> indexes = new HashMap<>(requests.size() * 2);
+        for (int i = 0; i < requests.size(); i++) {
+            UserRegisterRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = UserRegisterResult.error(null, 400, "注册信息不能为空");
+                continue;
+            }
+            Set<ConstraintViolation<UserRegisterRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String msg = violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining(";"));
+                results[i] = UserRegisterResult.error(request.getUserNo(), 400, msg);
+            } else if (indexes.putIfAbsent(request.getUserNo(), i) != null) {
+                results[i] = UserRegisterResult.error(request.getUserNo(), 400, "记录已存在");
+            }
+        }
+        List<String> candidates = new ArrayList<>(indexes.keySet());
+        boolean[] mightExist = userBloomFilter.mightContainAll(candidates);
+        List<String> checks = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            if (mightExist[i]) {
+                checks.add(candidates.get(i));
+            }
+        }
+        if (!checks.isEmpty()) {
+            for (User existing : DataSourceRouting.onPrimary(() -> userDao.findByUserNos(checks))) {
+                Integer index = indexes.remove(existing.getUserNo());
+                results[index] = UserRegisterResult.error(existing.getUserNo(), 400, "记录已存在");
+            }
+        }
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(indexes.entrySet());
+        List<User> users = new ArrayList<>(indexes.size());
+        List<CompletableFuture<String>> names = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Integer> entry : entries) {
+            names.add(queryBatchAuthNameAsync(entry.getKey()));
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            Map.Entry<String, Integer> entry = entries.get(i);
+            String name;
+            try {
+                name = join(names.get(i));
+            } catch (RuntimeException e) {
+                log.warn("#registerUsers 查询认证名称失败, userNo: {}", entry.getKey(), e);
+                results[entry.getValue()] = UserRegisterResult.error(entry.getKey(), 503, "认证服务调用失败");
+                continue;
+            }
+            if (!StringUtils.hasText(name)) {
+                results[entry.getValue()] = UserRegisterResult.error(entry.getKey(), 400, "用户未认证");
+                continue;
+            }
+            User user = new User();
+            BeanUtils.copyProperties(requests.get(entry.getValue()), user);
+            user.init();
+            user.setUserName(name);
+            users.add(user);
+        }
+        int batchSize = userRegisterProperties.getBatchSize();
+        for (int from = 0; from < users.size(); from += batchSize) {
+            List<User> batch = users.subList(from, Math.min(from + batchSize, users.size()));
+            saveBatch(batch, indexes, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 获取批量查询许可后异步查询认证名称，查询完成后释放许可
+     */
+    private CompletableFuture<String> queryBatchAuthNameAsync(String userNo) {
+        try {
+            batchAuthPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new IllegalStateException("批量注册被中断", e));
+        }
+        CompletableFuture<String> name = queryAuthNameAsync(userNo);
+        name.whenComplete((result, e) -> batchAuthPermits.release());
+        return name;
+    }
+
+    /**
+     * 在异步任务执行器中查询认证名称，执行器拒绝时返回失败的 future，只影响对应的用户
+     */
+    private CompletableFuture<String> queryAuthNameAsync(String userNo) {
+        try {
+            return CompletableFuture.supplyAsync(() -> userAuthClient.queryAuthName(userNo), userTaskExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new IllegalStateException("认证查询排队已满", e));
+        }
+    }
+
+    /**
+     * 等待异步任务完成，任务抛出的运行时异常原样抛出
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 批量写入，唯一键冲突或其他失败时逐条写入，每条记录的失败只记入对应的注册结果.
+     *
+     * @param batch
+     * @param indexes
+     * @param results
+     */
+    private void saveBatch(List<User> batch, Map<String, Integer> indexes, UserRegisterResult[] results) {
+        List<User> saved = batch;
+        try {
+            userDao.saveAll(batch);
+        } catch (RuntimeException e) {
+            if (e instanceof DuplicateKeyException) {
+                log.warn("#saveBatch 批量写入唯一键冲突，逐条写入, size: {}", batch.size());
+            } else {
+                log.error("#saveBatch 批量写入失败，逐条写入, size: {}, e: ", batch.size(), e);
+            }
+            saved = new ArrayList<>(batch.size());
+            for (User user : batch) {
+                try {
+                    userDao.save(user);
+                    saved.add(user);
+                } catch (DuplicateKeyException ex) {
+                    results[indexes.get(user.getUserNo())] = UserRegisterResult.error(user.getUserNo(), 400, "记录已存在");
+                } catch (RuntimeException ex) {
+                    log.error("#saveBatch 写入失败, userNo: {}, e: ", user.getUserNo(), ex);
+                    results[indexes.get(user.getUserNo())] = UserRegisterResult.error(user.getUserNo(), 500, "注册失败");
+                }
+            }
+        }
+        Cache cache = cacheManager.getCache("users");
+        for (User user : saved) {
+            results[indexes.get(user.getUserNo())] = UserRegisterResult.ok(user.getUserNo());
+            if (cache != null) {
+                cache.evict(user.getUserNo());
+            }
+        }
+    }
+
+    /**
+     * 更新用户信息，性别或删除标记变更时同步更新统计计数.
+     *
+     * @param user
+     * @return 更新的记录数，版本号不一致时为 0
+     */
+    @Transactional
+    @CacheEvict(value = "users", key = "#user.userNo")
+    public int updateUser(User user) {
+        User before = userDao.findOne(user);
+        if (before == null) {
+            throw new IllegalStateException("用户不存在");
+        }
+        int rows = userDao.update(user);
+        if (rows == 1) {
+            userStatisticsService.onChanged(before, Integer.valueOf(User.DELETED).equals(user.getDeleteFlag()) ? null : user);
+        }
+        return rows;
+    }
+
+    /**
+     * 删除用户，同步更新统计计数.
+     *
+     * @param user
+     * @return 删除的记录数，版本号不一致时为 0
+     */
+    @Transactional
+    @CacheEvict(value = "users", key = "#user.userNo")
+    public int deleteUser(User user) {
+        User before = userDao.findOne(user);
+        if (before == null) {
+            throw new IllegalStateException("用户不存在");
+        }
+        int rows = userDao.delete(user);
+        if (rows == 1) {
+            userStatisticsService.onChanged(before, null);
+        }
+        return rows;
+    }
+
     /**
      * 查询用户信息.
+     * <p>
+     * 已注册但还未写入数据库的用户从延迟写入缓冲区返回；布隆过滤器确定用户不存在时不访问缓存和数据库，
+     * 否则从 users 缓存读取，未命中时同一 key 只有一个线程查询数据库。
      *
      * @param userNo
      * @return
      */
-    @Cacheable(value = "users", key = "#userNo")
     public User queryUser(String userNo) {
+        User pending = userWriteBehindBuffer.getPending(userNo);
+        if (pending != null) {
+            return pending;
+        }
+        if (!userBloomFilter.mightContain(userNo)) {
+            return null;
+        }
+        Cache cache = cacheManager.getCache("users");
+        if (cache == null) {
+            return findUser(userNo);
+        }
+        try {
+            return cache.get(userNo, () -> findUser(userNo));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private User findUser(String userNo) {
         User query = new User();
         query.setUserNo(userNo);
         return userDao.findOne(query);
     }
 
+    /**
+     * 批量查询用户信息.
+     * <p>
+     * 先批量读取 users 缓存，未命中的用户编号通过一次 IN 查询加载后批量回填缓存。
+     *
+     * @param userNos
+     * @return 按请求顺序返回存在的用户
+     */
+    public List<User> queryUsers(Collection<String> userNos) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String userNo : userNos) {
+            if (StringUtils.hasText(userNo)) {
+                keys.add(userNo);
+            }
+        }
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Cache cache = cacheManager.getCache("users");
+        Map<Object, Object> found = new HashMap<>(keys.size() * 2);
+        if (cache instanceof TwoLevelCache) {
+            found.putAll(((TwoLevelCache) cache).getAll(keys));
+        } else if (cache != null) {
+            for (String key : keys) {
+                Cache.ValueWrapper wrapper = cache.get(key);
+                if (wrapper != null) {
+                    found.put(key, wrapper.get());
+                }
+            }
+        }
+        List<String> misses = new ArrayList<>();
+        for (String key : keys) {
+            if (!found.containsKey(key)) {
+                misses.add(key);
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<String, User> loaded = new HashMap<>(misses.size() * 2);
+            for (String key : misses) {
+                loaded.put(key, null);
+            }
+            for (User user : userDao.findByUserNos(misses)) {
+                loaded.put(user.getUserNo(), user);
+            }
+            found.putAll(loaded);
+            if (cache instanceof TwoLevelCache) {
+                ((TwoLevelCache) cache).putAll(loaded);
+            } else if (cache != null) {
+                loaded.forEach(cache::put);
+            }
+        }
+        List<User> users = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Object user = found.get(key);
+            if (user != null) {
+                users.add((User) user);
+            }
+        }
+        return users;
+    }
+
+    /**
+     * 流式导出用户信息.
+     * <p>
+     * 通过游标逐条读取，内存占用与数据量无关；游标需要在事务内保持连接。
+     *
+     * @param condition
+     * @param consumer 处理每条用户信息
+     */
+    @Transactional(readOnly = true)
+    public void exportUsers(User condition, Consumer<User> consumer) {
+        try (Cursor<User> cursor = userDao.streamBy(condition)) {
+            for (User user : cursor) {
+                consumer.accept(user);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
     /**
      * 分页查询用户信息.
@@ -113,7 +715,10 @@ public class UserService {
      * @return
      */
     public PageInfo<User> queryUserByPage(PageInfo<User> pageInfo, User condition) {
-        long count = userDao.countBy(condition);
+        if (userPageProperties.getCountMode() == UserPageProperties.CountMode.NONE) {
+            return queryUserByPageWithoutCount(pageInfo, condition);
+        }
+        long count = countUser(condition);
         List<User> list = null;
         if (count != 0) {
             condition.fillPaging(pageInfo);
@@ -122,7 +727,70 @@ public class UserService {
             list = Collections.emptyList();
         }
         pageInfo.setTotal(count);
+        pageInfo.setHasNext((long) pageInfo.getPageNum() * pageInfo.getPageSize() < count);
+        pageInfo.setItems(list);
+        return pageInfo;
+    }
+
+    /**
+     * 分页查询用户信息，不统计总数，多取一条记录判断是否存在下一页.
+     *
+     * @param pageInfo
+     * @param condition
+     * @return
+     */
+    private PageInfo<User> queryUserByPageWithoutCount(PageInfo<User> pageInfo, User condition) {
+        int pageSize = pageInfo.getPageSize();
+        condition.fillPaging(pageInfo);
+        condition.setLookahead(1);
+        List<User> list = userDao.findPageBy(condition);
+        boolean hasNext = list.size() > pageSize;
+        if (hasNext) {
+            list = list.subList(0, pageSize);
+        }
+        pageInfo.setTotal(-1);
+        pageInfo.setHasNext(hasNext);
+        pageInfo.setItems(list);
+        return pageInfo;
+    }
+
+    /**
+     * 按配置的统计方式统计总数.
+     *
+     * @param condition
+     * @return
+     */
+    private long countUser(User condition) {
+        if (userPageProperties.getCountMode() == UserPageProperties.CountMode.CACHED) {
+            return userCountCache.get(condition, () -> userDao.countBy(condition));
+        }
+        return userDao.countBy(condition);
+    }
+
+    /**
+     * 游标分页查询用户信息.
+     * <p>
+     * 按 id 倒序，从 {@link PageInfo#getAfterId()} 之后开始查找，不统计总数，
+     * 多取一条记录用于判断是否存在下一页，每一页的查询代价与第一页相同。
+     *
+     * @param pageInfo
+     * @param condition
+     * @return
+     */
+    public PageInfo<User> queryUserByCursor(PageInfo<User> pageInfo, User condition) {
+        int pageSize = pageInfo.getPageSize();
+        condition.fillCursorPaging(pageInfo);
+        condition.setLookahead(1);
+        List<User> list = userDao.findPageAfter(condition);
+        boolean hasNext = list.size() > pageSize;
+        Long nextAfterId = null;
+        if (hasNext) {
+            list = list.subList(0, pageSize);
+            nextAfterId = list.get(pageSize - 1).getId();
+        }
+        pageInfo.setHasNext(hasNext);
         pageInfo.setItems(list);
+        pageInfo.setNextAfterId(nextAfterId);
         return pageInfo;
     }
 }
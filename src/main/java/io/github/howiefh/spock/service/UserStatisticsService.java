@@ -0,0 +1,205 @@
+/*
+ * @(#)UserStatisticsService 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.service;
+
+import io.github.howiefh.spock.cache.RedisLockService;
+import io.github.howiefh.spock.dao.UserDao;
+import io.github.howiefh.spock.dao.interceptor.UserWriteListener;
+import io.github.howiefh.spock.domain.User;
+import io.github.howiefh.spock.domain.UserStatistics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 用户统计服务.
+ * <p>
+ * 男女人数保存在 redis 计数器中，新增、修改性别、删除用户时增量更新，读取为 O(1)；
+ * 定时与数据库全表统计结果校准，计数器不存在时同步校准一次。校准在 redis 锁内执行，同一时间只有一个节点校准；
+ * 统计前记录计数器的快照，只有计数器在统计期间未被增量更新时才写入统计结果，否则留给下一次校准。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Service
+@Slf4j
+public class UserStatisticsService implements UserWriteListener {
+    static final String MALE_KEY = "spock:user:statistics:male";
+    static final String FEMALE_KEY = "spock:user:statistics:female";
+    static final String RECONCILE_LOCK = "user:statistics:reconcile";
+    private static final List<String> KEYS = List.of(MALE_KEY, FEMALE_KEY);
+
+    /**
+     * 计数器存在时才增加，避免在未校准的计数器上累加
+     */
+    private static final RedisScript<Long> INCREMENT_IF_EXISTS = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 then return redis.call('incrby', KEYS[1], ARGV[1]) end return nil", Long.class);
+    /**
+     * 所有计数器都与快照相同时才写入新值，ARGV 依次为各计数器的快照（不存在时为空字符串）和新值
+     */
+    private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>(
+            "for i = 1, #KEYS do if (redis.call('get', KEYS[i]) or '') ~= ARGV[i] then return 0 end end "
+                    + "for i = 1, #KEYS do redis.call('set', KEYS[i], ARGV[#KEYS + i]) end return 1", Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private RedisLockService redisLockService;
+
+    /**
+     * 查询统计信息.
+     *
+     * @return
+     */
+    public UserStatistics queryStatistics() {
+        List<String> values = redisTemplate.opsForValue().multiGet(KEYS);
+        if (values == null || values.contains(null)) {
+            return reconcile();
+        }
+        UserStatistics statistics = new UserStatistics();
+        statistics.setMale(Integer.parseInt(values.get(0)));
+        statistics.setFemale(Integer.parseInt(values.get(1)));
+        return statistics;
+    }
+
+    /**
+     * 使用数据库全表统计结果校准计数器.
+     * <p>
+     * 其他节点正在校准或计数器在统计期间发生变化时只返回统计结果，不写入计数器。
+     *
+     * @return
+     */
+    @Scheduled(initialDelayString = "${spock.user.statistics.reconcile-interval-ms:600000}",
+            fixedDelayString = "${spock.user.statistics.reconcile-interval-ms:600000}")
+    public UserStatistics reconcile() {
+        Lock lock = redisLockService.getLock(RECONCILE_LOCK);
+        if (!lock.tryLock()) {
+            log.info("#reconcile 其他节点正在校准用户统计");
+            return statistics();
+        }
+        try {
+            List<String> snapshot = redisTemplate.opsForValue().multiGet(KEYS);
+            UserStatistics statistics = statistics();
+            Long updated = redisTemplate.execute(COMPARE_AND_SET, KEYS, value(snapshot, 0), value(snapshot, 1),
+                    String.valueOf(statistics.getMale()), String.valueOf(statistics.getFemale()));
+            if (updated != null && updated == 1) {
+                log.info("#reconcile 用户统计校准完成, statistics: {}", statistics);
+            } else {
+                log.info("#reconcile 统计期间计数器发生变化，等待下次校准, statistics: {}", statistics);
+            }
+            return statistics;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UserStatistics statistics() {
+        UserStatistics statistics = userDao.statistics();
+        return statistics != null ? statistics : new UserStatistics();
+    }
+
+    private static String value(List<String> values, int index) {
+        if (values == null || values.get(index) == null) {
+            return "";
+        }
+        return values.get(index);
+    }
+
+    /**
+     * 用户性别变更或删除后更新计数.
+     *
+     * @param before 变更前的用户
+     * @param after  变更后的用户，删除时为 {@literal null}
+     */
+    public void onChanged(User before, User after) {
+        Integer oldGender = before.getGender();
+        Integer newGender = after != null ? after.getGender() : null;
+        if (after != null && (newGender == null || Objects.equals(oldGender, newGender))) {
+            return;
+        }
+        afterCommit(() -> {
+            increment(oldGender, -1);
+            increment(newGender, 1);
+        });
+    }
+
+    /**
+     * 新增用户后更新计数，修改和删除需要变更前的数据，由 {@link #onChanged(User, User)} 处理.
+     */
+    @Override
+    public void afterWrite(String method, Object parameter, int rows) {
+        if (rows <= 0 || !method.startsWith("save")) {
+            return;
+        }
+        if (parameter instanceof User) {
+            Integer gender = ((User) parameter).getGender();
+            afterCommit(() -> increment(gender, 1));
+        } else if (parameter instanceof Map && ((Map<?, ?>) parameter).get("collection") instanceof Collection) {
+            Collection<?> users = (Collection<?>) ((Map<?, ?>) parameter).get("collection");
+            if (rows != users.size()) {
+                // 部分记录被忽略时无法确定写入了哪些记录，等待定时校准
+                return;
+            }
+            long male = users.stream().filter(user -> Objects.equals(((User) user).getGender(), User.MALE)).count();
+            long female = users.stream().filter(user -> Objects.equals(((User) user).getGender(), User.FEMALE)).count();
+            afterCommit(() -> {
+                increment(User.MALE, male);
+                increment(User.FEMALE, female);
+            });
+        }
+    }
+
+    private void increment(Integer gender, long delta) {
+        String key = gender == null ? null : gender == User.MALE ? MALE_KEY : gender == User.FEMALE ? FEMALE_KEY : null;
+        if (key == null || delta == 0) {
+            return;
+        }
+        redisTemplate.execute(INCREMENT_IF_EXISTS, List.of(key), String.valueOf(delta));
+    }
+
+    /**
+     * 存在事务时在提交后执行，回滚的写操作不影响计数
+     */
+    private void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+}
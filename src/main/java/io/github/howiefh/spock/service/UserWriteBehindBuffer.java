@@ -0,0 +1,399 @@
+/*
+ * @(#)UserWriteBehindBuffer 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.service;
+
+import io.github.howiefh.spock.cache.UserBinaryCodec;
+import io.github.howiefh.spock.config.UserRegisterProperties;
+import io.github.howiefh.spock.dao.UserDao;
+import io.github.howiefh.spock.domain.User;
+import io.github.howiefh.spock.wal.WriteAheadLog;
+import io.github.howiefh.spock.wal.WriteAheadLog.Position;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 注册延迟写入缓冲区.
+ * <p>
+ * 注册先追加到本地内存映射的预写日志并放入有界队列后立即返回，后台线程将队列中的注册合并为 saveAll 批量写入数据库，
+ * 写入成功后保存预写日志检查点。数据库暂时不可用（连接失败、超时、死锁等）时按指数退避重试，队列满后新的注册直接拒绝；
+ * 某一批唯一键冲突或出现其他失败时逐条以存在时忽略的语句写入，仍然失败的注册写入死信日志后跳过，
+ * 不会阻塞之后的注册。死信日志与预写日志格式相同，可以通过 {@link WriteAheadLog#replay()} 读取后人工处理。
+ * <p>
+ * 接收注册时在 redis 中写入等待写入标记，直到写入数据库后才删除，其他节点不会再接收同一用户的注册。
+ * 标记过期后其他节点重复接收的注册在写入时被忽略并记录日志。
+ * <p>
+ * 启动时先将上次未写入数据库的注册从预写日志恢复并写入，再开始接收新的注册；恢复的注册可能已经写入过，
+ * 同样通过存在时忽略的语句去重。等待写入的注册可以通过 {@link #getPending(String)} 查询。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Service
+@Slf4j
+public class UserWriteBehindBuffer implements InitializingBean, DisposableBean {
+    private static final long MAX_BACKOFF_MILLIS = 10_000;
+
+    @Autowired
+    private UserRegisterProperties userRegisterProperties;
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private UserRegisterProperties.WriteBehind properties;
+    private WriteAheadLog wal;
+    private WriteAheadLog deadLetterLog;
+    private final String nodeId = UUID.randomUUID().toString();
+    private BlockingQueue<Entry> queue;
+    private final Map<String, User> pending = new ConcurrentHashMap<>();
+    private Thread writer;
+    private volatile boolean running;
+    private Timer flushTimer;
+    private DistributionSummary flushSize;
+    private Counter deadLetters;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        properties = userRegisterProperties.getWriteBehind();
+        if (!properties.isEnabled()) {
+            return;
+        }
+        wal = new WriteAheadLog(Paths.get(properties.getWalDirectory()), (int) properties.getSegmentSize().toBytes(),
+                properties.isSync());
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        flushTimer = Timer.builder("user.register.flush")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        flushSize = DistributionSummary.builder("user.register.flush.size").register(meterRegistry);
+        deadLetters = Counter.builder("user.register.dead.letter").register(meterRegistry);
+        Gauge.builder("user.register.pending", queue, BlockingQueue::size).register(meterRegistry);
+        replay();
+        running = true;
+        writer = new Thread(this::runWriter, "user-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * 写入等待写入标记、预写日志并放入队列
+     *
+     * @param user 已初始化的用户
+     */
+    public void add(User user) {
+        if (!running) {
+            throw new IllegalStateException("注册服务暂不可用，请稍后重试");
+        }
+        Boolean marked;
+        try {
+            marked = redisTemplate.opsForValue().setIfAbsent(pendingKey(user.getUserNo()), nodeId, properties.getPendingTtl());
+        } catch (RuntimeException e) {
+            log.error("#add 写入等待写入标记失败, userNo: {}, e: ", user.getUserNo(), e);
+            throw new IllegalStateException("注册服务暂不可用，请稍后重试", e);
+        }
+        if (!Boolean.TRUE.equals(marked)) {
+            throw new IllegalStateException("记录已存在");
+        }
+        try {
+            append(user);
+        } catch (RuntimeException e) {
+            unmark(List.of(user));
+            throw e;
+        }
+    }
+
+    private synchronized void append(User user) {
+        if (!running) {
+            throw new IllegalStateException("注册服务暂不可用，请稍后重试");
+        }
+        if (queue.remainingCapacity() == 0) {
+            throw new IllegalStateException("注册请求过多，请稍后重试");
+        }
+        if (pending.putIfAbsent(user.getUserNo(), user) != null) {
+            throw new IllegalStateException("记录已存在");
+        }
+        Position position;
+        try {
+            position = wal.append(UserBinaryCodec.encode(user));
+        } catch (IOException | RuntimeException e) {
+            pending.remove(user.getUserNo());
+            log.error("#add 写入预写日志失败, userNo: {}, e: ", user.getUserNo(), e);
+            throw new IllegalStateException("注册服务暂不可用，请稍后重试", e);
+        }
+        queue.add(new Entry(user, position));
+    }
+
+    /**
+     * 查询已接收但还未写入数据库的注册
+     *
+     * @param userNo
+     * @return 不存在时为 {@literal null}
+     */
+    public User getPending(String userNo) {
+        return userNo == null ? null : pending.get(userNo);
+    }
+
+    private void replay() throws IOException, InterruptedException {
+        List<byte[]> records = wal.replay();
+        if (!records.isEmpty()) {
+            List<User> users = new ArrayList<>(records.size());
+            for (byte[] record : records) {
+                users.add(UserBinaryCodec.decode(record));
+            }
+            int batchSize = properties.getBatchSize();
+            for (int from = 0; from < users.size(); from += batchSize) {
+                List<User> batch = users.subList(from, Math.min(from + batchSize, users.size()));
+                write(batch);
+                unmark(batch);
+            }
+            log.info("#replay 预写日志恢复完成, users: {}", users.size());
+        }
+        wal.checkpoint(wal.position());
+    }
+
+    private void runWriter() {
+        int batchSize = properties.getBatchSize();
+        long linger = properties.getLinger().toNanos();
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + linger;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                log.warn("#runWriter 写入线程被中断，未写入的 {} 条注册将在下次启动时从预写日志恢复", batch.size() + queue.size());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 写入数据库后保存检查点，删除等待写入标记
+     */
+    private void flush(List<Entry> batch) throws InterruptedException {
+        List<User> users = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            users.add(entry.user);
+        }
+        long start = System.nanoTime();
+        write(users);
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        flushSize.record(users.size());
+        try {
+            wal.checkpoint(batch.get(batch.size() - 1).position);
+        } catch (IOException e) {
+            // 检查点未保存时重启后会重复写入，写入语句可以去重
+            log.warn("#flush 保存预写日志检查点失败, e: ", e);
+        }
+        Cache cache = cacheManager.getCache("users");
+        for (User user : users) {
+            pending.remove(user.getUserNo(), user);
+            if (cache != null) {
+                cache.evict(user.getUserNo());
+            }
+        }
+        unmark(users);
+    }
+
+    /**
+     * 批量写入，暂时性的失败重试直到成功或线程被中断。唯一键冲突或其他失败时逐条写入并忽略已存在的用户，
+     * 逐条写入仍然失败的用户写入死信日志
+     */
+    private void write(List<User> users) throws InterruptedException {
+        Map<String, User> distinct = new LinkedHashMap<>(users.size() * 2);
+        for (User user : users) {
+            distinct.putIfAbsent(user.getUserNo(), user);
+        }
+        try {
+            retry(() -> userDao.saveAll(distinct.values()));
+            return;
+        } catch (DuplicateKeyException e) {
+            log.warn("#write 批量写入唯一键冲突，逐条写入, size: {}", distinct.size());
+        } catch (RuntimeException e) {
+            log.error("#write 批量写入失败，逐条写入, size: {}, e: ", distinct.size(), e);
+        }
+        List<String> ignored = new ArrayList<>();
+        for (User user : distinct.values()) {
+            try {
+                if (retry(() -> userDao.saveIfAbsent(user)) == 0) {
+                    ignored.add(user.getUserNo());
+                }
+            } catch (RuntimeException e) {
+                deadLetter(user, e);
+            }
+        }
+        if (!ignored.isEmpty()) {
+            // 重启恢复时重复写入，或等待写入标记过期后其他节点重复接收了同一用户的注册
+            log.warn("#write 用户已存在，忽略, userNos: {}", ignored);
+        }
+    }
+
+    /**
+     * 暂时性的失败按指数退避重试，其他失败直接抛出
+     */
+    private <T> T retry(Supplier<T> action) throws InterruptedException {
+        long backoff = 100;
+        while (true) {
+            try {
+                return action.get();
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    throw e;
+                }
+                log.error("#retry 写入失败，{}ms 后重试, e: ", backoff, e);
+                TimeUnit.MILLISECONDS.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 写入死信日志，死信日志在首次写入时创建
+     */
+    private void deadLetter(User user, RuntimeException e) {
+        log.error("#deadLetter 注册写入失败，写入死信日志, userNo: {}, e: ", user.getUserNo(), e);
+        deadLetters.increment();
+        try {
+            if (deadLetterLog == null) {
+                deadLetterLog = new WriteAheadLog(Paths.get(properties.getDeadLetterDirectory()),
+                        (int) properties.getSegmentSize().toBytes(), true);
+            }
+            deadLetterLog.append(UserBinaryCodec.encode(user));
+        } catch (IOException | RuntimeException ex) {
+            log.error("#deadLetter 写入死信日志失败, user: {}, e: ", user, ex);
+        }
+    }
+
+    /**
+     * 删除等待写入标记，删除失败时等待标记过期
+     */
+    private void unmark(List<User> users) {
+        List<String> keys = new ArrayList<>(users.size());
+        for (User user : users) {
+            keys.add(pendingKey(user.getUserNo()));
+        }
+        try {
+            redisTemplate.delete(keys);
+        } catch (RuntimeException e) {
+            log.warn("#unmark 删除等待写入标记失败, size: {}, e: ", keys.size(), e);
+        }
+    }
+
+    private String pendingKey(String userNo) {
+        return properties.getPendingKeyPrefix() + userNo;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (!running) {
+            return;
+        }
+        synchronized (this) {
+            running = false;
+        }
+        Duration timeout = properties.getShutdownTimeout();
+        writer.join(timeout.toMillis());
+        if (writer.isAlive()) {
+            writer.interrupt();
+            writer.join(1000);
+        }
+        wal.close();
+        if (deadLetterLog != null) {
+            deadLetterLog.close();
+        }
+    }
+
+    private static final class Entry {
+        private final User user;
+        private final Position position;
+
+        private Entry(User user, Position position) {
+            this.user = user;
+            this.position = position;
+        }
+    }
+}
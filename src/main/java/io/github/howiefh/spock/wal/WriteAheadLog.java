@@ -0,0 +1,257 @@
+/*
+ * @(#)WriteAheadLog 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.wal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 基于内存映射文件的预写日志.
+ * <p>
+ * 日志由多个固定大小的段文件组成，文件名为段序号。每条记录格式为：
+ * <pre>
+ * length(4) | crc32(4) | payload(length)
+ * </pre>
+ * 新段文件映射后内容全为 0，读取到长度为 0 或校验不一致的记录时认为该段结束，进程在写入中途退出留下的半条记录被丢弃。
+ * 写入只复制到映射内存，进程崩溃后由操作系统写回磁盘；需要在断电时也不丢失时开启 sync，每次写入后刷盘。
+ * <p>
+ * 检查点记录已经持久化到数据库的位置，保存在 checkpoint 文件中，检查点之前的段文件被删除。
+ * 启动时当前进程总是写入新的段，旧段只用于 {@link #replay()}。
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+    private static final String SUFFIX = ".wal";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final int HEADER_SIZE = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final List<Long> existingSegments;
+    private final Position checkpoint;
+
+    private long segment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    /**
+     * @param directory   日志目录
+     * @param segmentSize 段文件大小
+     * @param sync        每次写入后是否刷盘
+     * @throws IOException
+     */
+    public WriteAheadLog(Path directory, int segmentSize, boolean sync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        this.existingSegments = listSegments();
+        this.checkpoint = readCheckpoint();
+        long last = existingSegments.isEmpty() ? checkpoint.getSegment() : existingSegments.get(existingSegments.size() - 1);
+        openSegment(Math.max(last, checkpoint.getSegment()) + 1);
+    }
+
+    /**
+     * 读取检查点之后、本进程启动前写入的全部记录
+     *
+     * @return 按写入顺序排列的记录内容
+     * @throws IOException
+     */
+    public List<byte[]> replay() throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        for (long existing : existingSegments) {
+            if (existing < checkpoint.getSegment()) {
+                continue;
+            }
+            int from = existing == checkpoint.getSegment() ? checkpoint.getOffset() : 0;
+            try (FileChannel readChannel = FileChannel.open(segmentPath(existing), StandardOpenOption.READ)) {
+                MappedByteBuffer readBuffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                readBuffer.position(from);
+                int count = 0;
+                byte[] payload;
+                while ((payload = read(readBuffer)) != null) {
+                    records.add(payload);
+                    count++;
+                }
+                log.info("#replay 读取预写日志, segment: {}, from: {}, records: {}", existing, from, count);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * 追加一条记录，当前段剩余空间不足时切换到新的段
+     *
+     * @param payload 记录内容
+     * @return 该记录之后的位置，该位置之前的记录都持久化后可以作为检查点
+     * @throws IOException
+     */
+    public synchronized Position append(byte[] payload) throws IOException {
+        int size = HEADER_SIZE + payload.length;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("记录大小超过段文件大小: " + size);
+        }
+        if (buffer.remaining() < size) {
+            openSegment(segment + 1);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int offset = buffer.position();
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        if (sync) {
+            buffer.force(offset, size);
+        }
+        return new Position(segment, buffer.position());
+    }
+
+    /**
+     * 当前写入位置
+     *
+     * @return
+     */
+    public synchronized Position position() {
+        return new Position(segment, buffer.position());
+    }
+
+    /**
+     * 保存检查点并删除检查点之前的段文件
+     *
+     * @param position 已经持久化的位置
+     * @throws IOException
+     */
+    public void checkpoint(Position position) throws IOException {
+        Path tmp = directory.resolve(CHECKPOINT + ".tmp");
+        ByteBuffer content = ByteBuffer.allocate(12).putLong(position.getSegment()).putInt(position.getOffset());
+        content.flip();
+        try (FileChannel tmpChannel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            tmpChannel.write(content);
+            if (sync) {
+                tmpChannel.force(true);
+            }
+        }
+        Files.move(tmp, directory.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (long existing : listSegments()) {
+            if (existing < position.getSegment()) {
+                Files.deleteIfExists(segmentPath(existing));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void openSegment(long next) throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+        }
+        channel = FileChannel.open(segmentPath(next), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segment = next;
+    }
+
+    /**
+     * 读取一条记录，没有完整的记录时返回 {@literal null}
+     */
+    private static byte[] read(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining()) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == checksum ? payload : null;
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT);
+        if (!Files.exists(path)) {
+            return new Position(0, 0);
+        }
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(path));
+        return new Position(content.getLong(), content.getInt());
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%020d%s", segment, SUFFIX));
+    }
+
+    /**
+     * 日志中的位置
+     */
+    public static final class Position {
+        private final long segment;
+        private final int offset;
+
+        public Position(long segment, int offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+
+        public long getSegment() {
+            return segment;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+    }
+}
@@ -11,4 +11,10 @@ CREATE TABLE IF NOT EXISTS sys_user (
     modified_date timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改日期',
     PRIMARY KEY (id),
     CONSTRAINT uk_sys_user UNIQUE(user_no)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_bin COMMENT = '用户';
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_bin COMMENT = '用户';
+CREATE TABLE IF NOT EXISTS sys_idempotency (
+    idempotency_key varchar(64) NOT NULL COMMENT '幂等键',
+    biz_no varchar(32) NOT NULL COMMENT '业务编号',
+    created_date datetime NOT NULL COMMENT '创建时间',
+    PRIMARY KEY (idempotency_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE=utf8_bin COMMENT = '幂等记录';
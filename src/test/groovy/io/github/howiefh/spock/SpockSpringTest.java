@@ -28,7 +28,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * 测试注解
+ * 测试注解，关闭认证名称缓存，各测试用例可以为同一用户模拟不同的认证结果
  *
  * @author fenghao
  * @version 1.0
@@ -36,7 +36,7 @@ import java.lang.annotation.Target;
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
-@SpringBootTest(classes = Application.class, properties = {})
+@SpringBootTest(classes = Application.class, properties = {"spock.rpc.auth.cache.enabled=false"})
 @ActiveProfiles({"h2", "sqlinit"})
 @AutoConfigureMockMvc
 @DirtiesContext
@@ -0,0 +1,121 @@
+/*
+ * @(#)AuthNameCacheTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache
+
+import io.github.howiefh.spock.config.AuthRpcProperties
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.*
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Function
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class AuthNameCacheTest extends Specification {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry()
+    AuthNameCache cache = new AuthNameCache(new AuthRpcProperties(), registry)
+
+    def "test repeated lookups hit the cache"() {
+        given:
+        Function<String, String> loader = Mock()
+
+        when:
+        def names = (1..3).collect { cache.get("jack", loader) }
+
+        then:
+        1 * loader.apply("jack") >> "杰克"
+        names == ["杰克", "杰克", "杰克"]
+        registry.get("cache.gets").tags("cache", "authNames", "result", "hit").functionCounter().count() == 2
+    }
+
+    def "test not authenticated answers are cached for negative ttl"() {
+        given:
+        def properties = new AuthRpcProperties()
+        properties.cache.negativeTtl = Duration.ofMillis(50)
+        def shortCache = new AuthNameCache(properties, registry)
+        Function<String, String> loader = Mock()
+
+        when:
+        def first = shortCache.get("rose", loader)
+        def cached = shortCache.get("rose", loader)
+        Thread.sleep(100)
+        def reloaded = shortCache.get("rose", loader)
+
+        then:
+        2 * loader.apply("rose") >>> [null, "肉丝"]
+        first == null
+        cached == null
+        reloaded == "肉丝"
+    }
+
+    def "test concurrent lookups share one call made on the caller thread"() {
+        given:
+        def calls = new AtomicInteger()
+        def loading = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        Thread loaderThread = null
+        Function<String, String> loader = { String loginId ->
+            calls.incrementAndGet()
+            loaderThread = Thread.currentThread()
+            loading.countDown()
+            release.await()
+            "杰克"
+        }
+
+        when:
+        def first = CompletableFuture.supplyAsync { [Thread.currentThread(), cache.get("jack", loader)] }
+        loading.await()
+        def second = CompletableFuture.supplyAsync { cache.get("jack", loader) }
+        def other = cache.get("rose", { "肉丝" } as Function<String, String>)
+        release.countDown()
+        def (callerThread, name) = first.join()
+
+        then:
+        other == "肉丝"
+        name == "杰克"
+        second.join() == "杰克"
+        calls.get() == 1
+        loaderThread == callerThread
+    }
+
+    def "test failed lookups are not cached"() {
+        given:
+        Function<String, String> loader = Mock()
+
+        when:
+        cache.get("jack", loader)
+
+        then:
+        1 * loader.apply("jack") >> { throw new IllegalStateException("认证服务不可用") }
+        thrown(IllegalStateException)
+
+        when:
+        def name = cache.get("jack", loader)
+
+        then:
+        1 * loader.apply("jack") >> "杰克"
+        name == "杰克"
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * @(#)CacheRefresherTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache
+
+import io.github.howiefh.spock.config.SpockCacheProperties
+import io.github.howiefh.spock.domain.User
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.data.redis.cache.RedisCacheConfiguration
+import org.springframework.data.redis.cache.RedisCacheManager
+import org.springframework.data.redis.cache.RedisCacheWriter
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory
+import org.springframework.data.redis.core.StringRedisTemplate
+import org.springframework.data.redis.serializer.RedisSerializationContext
+import spock.lang.*
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class CacheRefresherTest extends Specification {
+    static final String PREFIX = "spock:test:"
+    static final String KEY = PREFIX + "users::jack"
+
+    @Shared
+    LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379))
+    @Shared
+    StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory)
+
+    /**
+     * 刷新在后台线程中执行，使用计数代替交互校验
+     */
+    AtomicInteger reloads = new AtomicInteger()
+    User reloaded
+    CacheReloader reloader = Stub() {
+        getCacheName() >> "users"
+        reload("jack") >> { reloads.incrementAndGet(); reloaded }
+    }
+    TwoLevelCacheManager manager
+
+    def setupSpec() {
+        connectionFactory.afterPropertiesSet()
+        redisTemplate.afterPropertiesSet()
+    }
+
+    def cleanupSpec() {
+        connectionFactory.destroy()
+    }
+
+    def setup() {
+        def properties = new SpockCacheProperties()
+        properties.redis.refreshAhead.enabled = true
+        properties.redis.refreshAhead.threshold = 0.5
+        def redisCacheManager = RedisCacheManager.builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory))
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofSeconds(100))
+                        .prefixCacheNameWith(PREFIX)
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new UserRedisSerializer())))
+                .build()
+        redisCacheManager.afterPropertiesSet()
+        manager = new TwoLevelCacheManager(redisCacheManager, properties.near, redisTemplate, new SimpleMeterRegistry(),
+                new CacheRefresher(redisTemplate, [reloader], properties.redis.refreshAhead))
+        // 另一个节点写入 redis，本节点一级缓存为空
+        redisCacheManager.getCache("users").put("jack", new User(userNo: "jack", userName: "杰克"))
+    }
+
+    def cleanup() {
+        manager.destroy()
+        redisTemplate.delete(KEY)
+    }
+
+    def "test entry close to expiry is reloaded in background"() {
+        given:
+        reloaded = new User(userNo: "jack", userName: "杰克二")
+        redisTemplate.expire(KEY, 10, TimeUnit.SECONDS)
+
+        when:
+        def user = manager.getCache("users").get("jack").get()
+
+        then: "先返回旧值，后台刷新后 redis 中的值和有效期都更新"
+        user.userName == "杰克"
+        new PollingConditions(timeout: 5).eventually {
+            assert redisTemplate.getExpire(KEY, TimeUnit.SECONDS) > 50
+        }
+        reloads.get() == 1
+        manager.getCache("users").get("jack").get().userName == "杰克二"
+    }
+
+    def "test entry with enough remaining ttl is not reloaded"() {
+        when:
+        manager.getCache("users").get("jack")
+        sleep(200)
+
+        then:
+        reloads.get() == 0
+    }
+
+    def "test entry deleted at source is evicted on reload"() {
+        given:
+        redisTemplate.expire(KEY, 10, TimeUnit.SECONDS)
+
+        when:
+        manager.getCache("users").get("jack")
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert !redisTemplate.hasKey(KEY)
+        }
+        reloads.get() == 1
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * @(#)JitterRedisCacheWriterTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache
+
+import io.github.howiefh.spock.domain.User
+import org.springframework.cache.support.NullValue
+import org.springframework.data.redis.cache.RedisCacheConfiguration
+import org.springframework.data.redis.cache.RedisCacheManager
+import org.springframework.data.redis.cache.RedisCacheWriter
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory
+import org.springframework.data.redis.core.StringRedisTemplate
+import org.springframework.data.redis.serializer.RedisSerializationContext
+import spock.lang.*
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class JitterRedisCacheWriterTest extends Specification {
+    static final String PREFIX = "spock:test:"
+
+    @Shared
+    LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379))
+    @Shared
+    StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory)
+
+    def setupSpec() {
+        connectionFactory.afterPropertiesSet()
+        redisTemplate.afterPropertiesSet()
+    }
+
+    def cleanupSpec() {
+        connectionFactory.destroy()
+    }
+
+    def cleanup() {
+        def keys = redisTemplate.keys(PREFIX + "*")
+        if (keys) {
+            redisTemplate.delete(keys)
+        }
+    }
+
+    /**
+     * 与 RedisConfiguration 相同方式创建的 redis 缓存，不使用一级缓存
+     */
+    org.springframework.cache.Cache newCache(Duration negativeTtl) {
+        def serializer = new UserRedisSerializer()
+        def writer = new JitterRedisCacheWriter(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), 0.1,
+                serializer.serialize(NullValue.INSTANCE), negativeTtl)
+        def cacheManager = RedisCacheManager.builder(writer)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofMinutes(10))
+                        .prefixCacheNameWith(PREFIX)
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer)))
+                .build()
+        cacheManager.afterPropertiesSet()
+        cacheManager.getCache("users")
+    }
+
+    def "test null value uses negative ttl in redis"() {
+        given:
+        def cache = newCache(Duration.ofSeconds(5))
+
+        when:
+        cache.put("nobody", null)
+        cache.put("jack", new User(userNo: "jack"))
+
+        then:
+        cache.get("nobody").get() == null
+        redisTemplate.getExpire(PREFIX + "users::nobody", TimeUnit.SECONDS) <= 5
+        redisTemplate.getExpire(PREFIX + "users::jack", TimeUnit.SECONDS) > 5 * 60
+    }
+
+    @Unroll
+    def "test jitter #jitter on ttl #ttl stays within bounds"() {
+        given:
+        def writer = new JitterRedisCacheWriter(Mock(RedisCacheWriter), jitter)
+
+        when:
+        def ttls = (0..<1000).collect { writer.withJitter(ttl) }
+
+        then:
+        ttls.every { it >= ttl && it <= max }
+
+        where:
+        jitter | ttl                     || max
+        0.1    | Duration.ofSeconds(10)  || Duration.ofSeconds(11)
+        0.5    | Duration.ofMillis(100)  || Duration.ofMillis(150)
+        0      | Duration.ofSeconds(10)  || Duration.ofSeconds(10)
+        0.1    | Duration.ZERO           || Duration.ZERO
+    }
+
+    def "test jitter spreads expirations"() {
+        given:
+        def writer = new JitterRedisCacheWriter(Mock(RedisCacheWriter), 0.1)
+
+        expect:
+        (0..<100).collect { writer.withJitter(Duration.ofMinutes(10)) }.toSet().size() > 1
+    }
+
+    def "test put and putIfAbsent pass jittered ttl to delegate"() {
+        given:
+        RedisCacheWriter delegate = Mock()
+        def writer = new JitterRedisCacheWriter(delegate, 0.1)
+        def ttl = Duration.ofSeconds(10)
+        byte[] key = "k".bytes
+        byte[] value = "v".bytes
+
+        when:
+        writer.put("users", key, value, ttl)
+        writer.putIfAbsent("users", key, value, ttl)
+
+        then:
+        1 * delegate.put("users", key, value, { it >= ttl && it <= Duration.ofSeconds(11) })
+        1 * delegate.putIfAbsent("users", key, value, { it >= ttl && it <= Duration.ofSeconds(11) })
+    }
+}
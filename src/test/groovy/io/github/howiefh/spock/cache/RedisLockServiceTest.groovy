@@ -0,0 +1,104 @@
+/*
+ * @(#)RedisLockServiceTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.integration.redis.util.RedisLockRegistry
+import spock.lang.*
+
+import java.util.concurrent.locks.Lock
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class RedisLockServiceTest extends Specification {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    RedisLockRegistry redisLockRegistry = Mock()
+    RedisLockService lockService = new RedisLockService(redisLockRegistry, 0, meterRegistry)
+
+    def "test lock held by another node is counted as redis contention"() {
+        given:
+        Lock redisLock = Mock()
+        redisLockRegistry.obtain("rose") >> redisLock
+        redisLock.tryLock() >> false
+
+        expect:
+        !lockService.getLock("rose").tryLock()
+        meterRegistry.get("lock.contention").tag("tier", "redis").counter().count() == 1
+        meterRegistry.get("lock.contention").tag("tier", "local").counter().count() == 0
+        meterRegistry.get("lock.wait").tag("result", "rejected").timer().count() == 1
+    }
+
+    def "test lock held on this node is counted as local contention"() {
+        given:
+        Lock redisLock = Mock()
+        redisLockRegistry.obtain("lily") >> redisLock
+        redisLock.tryLock() >>> [true, false, false]
+        Lock holder = lockService.getLock("lily")
+
+        when:
+        holder.tryLock()
+        boolean whileHeld = lockService.getLock("lily").tryLock()
+        holder.unlock()
+        boolean afterRelease = lockService.getLock("lily").tryLock()
+
+        then:
+        !whileHeld
+        !afterRelease
+        meterRegistry.get("lock.contention").tag("tier", "local").counter().count() == 1
+        meterRegistry.get("lock.contention").tag("tier", "redis").counter().count() == 1
+    }
+
+    def "test reentrant lock records hold time on last unlock"() {
+        given:
+        Lock redisLock = Mock()
+        redisLockRegistry.obtain("tom") >> redisLock
+        redisLock.tryLock() >> true
+        Lock lock = lockService.getLock("tom")
+
+        when:
+        lock.tryLock()
+        lock.tryLock()
+        lock.unlock()
+
+        then:
+        1 * redisLock.unlock()
+        meterRegistry.get("lock.hold").timer().count() == 0
+
+        when:
+        lock.unlock()
+
+        then:
+        1 * redisLock.unlock()
+        meterRegistry.get("lock.wait").tag("result", "acquired").timer().count() == 2
+        meterRegistry.get("lock.acquisitions").counter().count() == 2
+        meterRegistry.get("lock.hold").timer().count() == 1
+    }
+
+    def "test unlock without holding the lock fails"() {
+        when:
+        lockService.getLock("jerry").unlock()
+
+        then:
+        thrown(IllegalMonitorStateException)
+        0 * redisLockRegistry.obtain(_)
+    }
+}
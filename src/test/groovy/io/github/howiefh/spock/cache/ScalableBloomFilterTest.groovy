@@ -0,0 +1,121 @@
+/*
+ * @(#)ScalableBloomFilterTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory
+import org.springframework.data.redis.core.StringRedisTemplate
+import spock.lang.*
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class ScalableBloomFilterTest extends Specification {
+    @Shared
+    LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379))
+    @Shared
+    StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory)
+
+    def setupSpec() {
+        connectionFactory.afterPropertiesSet()
+        redisTemplate.afterPropertiesSet()
+    }
+
+    def cleanupSpec() {
+        connectionFactory.destroy()
+    }
+
+    BloomBitStore newStore(String type) {
+        if (type == "redis") {
+            def store = new RedisBloomBitStore(redisTemplate, "spock:test:bloom", 8)
+            store.clear()
+            return store
+        }
+        new LocalBloomBitStore(8)
+    }
+
+    @Unroll
+    def "test #type filter has no false negatives after scaling"() {
+        given:
+        def filter = new ScalableBloomFilter(newStore(type), 1000, 0.01, 8)
+        def users = (0..<3000).collect { "user" + it }
+
+        when:
+        users.collate(100).each { filter.putAll(it) }
+        def falsePositives = (0..<10000).count { filter.mightContain("unknown" + it) }
+
+        then:
+        filter.count == 3000
+        users.every { filter.mightContain(it) }
+        falsePositives < 200
+
+        where:
+        type << ["local", "redis"]
+    }
+
+    @Unroll
+    def "test #type batch check matches single checks"() {
+        given:
+        def filter = new ScalableBloomFilter(newStore(type), 100, 0.01, 8)
+        filter.put("jack")
+        filter.putAll(["rose", "tom"])
+
+        expect:
+        filter.mightContainAll(["jack", "nobody", "tom"]) as List == [true, false, true]
+        !filter.mightContain("nobody")
+
+        where:
+        type << ["local", "redis"]
+    }
+
+    def "test cached count still finds users written to the next layer by another node"() {
+        given:
+        def reader = new ScalableBloomFilter(newStore("redis"), 100, 0.01, 8, 60_000)
+        def writer = new ScalableBloomFilter(new RedisBloomBitStore(redisTemplate, "spock:test:bloom", 8), 100, 0.01, 8)
+        def users = (0..<150).collect { "user" + it }
+
+        when:
+        reader.mightContain("jack")
+        writer.putAll(users.subList(0, 100))
+        writer.putAll(users.subList(100, 150))
+
+        then:
+        users.every { reader.mightContain(it) }
+    }
+
+    def "test cleared filter contains nothing"() {
+        given:
+        def filter = new ScalableBloomFilter(newStore("redis"), 100, 0.01, 8, 60_000)
+        filter.putAll(["jack", "rose"])
+
+        when:
+        filter.clear()
+
+        then:
+        filter.count == 0
+        !filter.mightContain("jack")
+    }
+
+    def "test empty filter contains nothing"() {
+        expect:
+        !new ScalableBloomFilter(new LocalBloomBitStore(1), 10, 0.01, 1).mightContain("jack")
+    }
+}
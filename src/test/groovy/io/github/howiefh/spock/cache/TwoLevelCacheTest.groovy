@@ -0,0 +1,288 @@
+/*
+ * @(#)TwoLevelCacheTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache
+
+import io.github.howiefh.spock.config.SpockCacheProperties
+import io.github.howiefh.spock.domain.User
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.cache.Cache
+import org.springframework.data.redis.cache.RedisCacheConfiguration
+import org.springframework.data.redis.cache.RedisCacheManager
+import org.springframework.data.redis.cache.RedisCacheWriter
+import org.springframework.data.redis.connection.DefaultMessage
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory
+import org.springframework.data.redis.core.StringRedisTemplate
+import org.springframework.data.redis.listener.ChannelTopic
+import org.springframework.data.redis.listener.RedisMessageListenerContainer
+import org.springframework.data.redis.serializer.RedisSerializationContext
+import spock.lang.*
+import spock.util.concurrent.PollingConditions
+
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class TwoLevelCacheTest extends Specification {
+    static final String PREFIX = "spock:test:"
+
+    @Shared
+    LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6379))
+    @Shared
+    StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory)
+
+    SpockCacheProperties properties = new SpockCacheProperties()
+    List<RedisMessageListenerContainer> containers = []
+    @Shared
+    ExecutorService executor = Executors.newFixedThreadPool(8)
+
+    def setupSpec() {
+        connectionFactory.afterPropertiesSet()
+        redisTemplate.afterPropertiesSet()
+    }
+
+    def cleanupSpec() {
+        executor.shutdown()
+        connectionFactory.destroy()
+    }
+
+    def setup() {
+        properties.near.channel = "spock:test:cache:invalidation"
+    }
+
+    def cleanup() {
+        containers*.destroy()
+        def keys = redisTemplate.keys(PREFIX + "*")
+        if (keys) {
+            redisTemplate.delete(keys)
+        }
+    }
+
+    /**
+     * 创建一个节点的缓存管理器，listen 为 true 时订阅失效消息
+     */
+    TwoLevelCacheManager newManager(boolean listen = false, CacheRefresher refresher = null,
+                                    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()) {
+        def writer = new JitterRedisCacheWriter(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), properties.redis.jitter)
+        def redisCacheManager = RedisCacheManager.builder(writer)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofMinutes(10))
+                        .prefixCacheNameWith(PREFIX)
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new UserRedisSerializer())))
+                .build()
+        redisCacheManager.afterPropertiesSet()
+        def manager = new TwoLevelCacheManager(redisCacheManager, properties.near, redisTemplate, meterRegistry, refresher)
+        if (listen) {
+            def container = new RedisMessageListenerContainer()
+            container.connectionFactory = connectionFactory
+            container.addMessageListener(manager, new ChannelTopic(properties.near.channel))
+            container.afterPropertiesSet()
+            container.start()
+            containers << container
+        }
+        manager
+    }
+
+    static User newUser(String userName = "杰克") {
+        new User(id: 1L, userNo: "jack", userName: userName, gender: 1)
+    }
+
+    def "test redis hit is promoted to local cache"() {
+        given:
+        newManager().getCache("users").put("jack", newUser())
+        def cache = newManager().getCache("users")
+
+        expect:
+        cache.get("jack").get() == newUser()
+
+        when: "redis 中删除后仍从一级缓存返回"
+        redisTemplate.delete(PREFIX + "users::jack")
+
+        then:
+        cache.get("jack").get() == newUser()
+    }
+
+    def "test put evict and clear write through to redis"() {
+        given:
+        def cache = newManager().getCache("users")
+
+        when:
+        cache.put("jack", newUser())
+
+        then:
+        redisTemplate.hasKey(PREFIX + "users::jack")
+
+        when:
+        cache.evict("jack")
+
+        then:
+        !redisTemplate.hasKey(PREFIX + "users::jack")
+        cache.get("jack") == null
+    }
+
+    def "test evict on one node invalidates local cache of other nodes"() {
+        given:
+        def nodeA = newManager(true).getCache("users")
+        def nodeB = newManager(true).getCache("users")
+        nodeA.put("jack", newUser())
+        nodeB.get("jack")
+
+        when:
+        nodeA.put("jack", newUser("杰克二"))
+
+        then: "其他节点的一级缓存失效后从 redis 读取新值"
+        new PollingConditions(timeout: 5).eventually {
+            assert nodeB.get("jack").get().userName == "杰克二"
+        }
+
+        when:
+        nodeA.evict("jack")
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert nodeB.get("jack") == null
+        }
+    }
+
+    def "test invalidation message evicts local cache unless sent by the same node"() {
+        given:
+        def manager = newManager()
+        def cache = manager.getCache("users")
+        cache.put("jack", newUser())
+        redisTemplate.delete(PREFIX + "users::jack")
+
+        when:
+        manager.onMessage(message(manager.nodeId, "jack"), null)
+
+        then:
+        cache.get("jack").get() == newUser()
+
+        when:
+        manager.onMessage(message("other", "jack"), null)
+
+        then:
+        cache.get("jack") == null
+    }
+
+    DefaultMessage message(String nodeId, String key) {
+        new DefaultMessage(properties.near.channel.getBytes(StandardCharsets.UTF_8),
+                "${nodeId}\nusers\n${key}".toString().getBytes(StandardCharsets.UTF_8))
+    }
+
+    def "test getAll reads local cache and redis in one round trip and putAll keeps nulls local"() {
+        given:
+        def cache = newManager().getCache("users") as TwoLevelCache
+
+        when:
+        cache.putAll([jack: newUser(), nobody: null])
+
+        then:
+        redisTemplate.hasKey(PREFIX + "users::jack")
+        !redisTemplate.hasKey(PREFIX + "users::nobody")
+
+        when: "另一个节点只能从 redis 读取到非空值"
+        def result = newManager().getCache("users").getAll(["jack", "nobody", "rose"])
+
+        then:
+        result == [jack: newUser()]
+
+        when: "本节点一级缓存中的空值也作为命中返回"
+        result = cache.getAll(["jack", "nobody"])
+
+        then:
+        result == [jack: newUser(), nobody: null]
+    }
+
+    def "test concurrent misses on one key are loaded once"() {
+        given:
+        def meterRegistry = new SimpleMeterRegistry()
+        def cache = newManager(false, null, meterRegistry).getCache("users")
+        def loads = new AtomicInteger()
+        def release = new CountDownLatch(1)
+        def loader = {
+            loads.incrementAndGet()
+            release.await()
+            newUser()
+        } as Callable<User>
+
+        when:
+        def futures = (0..<8).collect { CompletableFuture.supplyAsync({ cache.get("jack", loader) }, executor) }
+        new PollingConditions(timeout: 5).eventually {
+            assert meterRegistry.get("cache.loads.coalesced").counter().count() == 7
+        }
+        release.countDown()
+
+        then:
+        futures*.join() == [newUser()] * 8
+        loads.get() == 1
+        meterRegistry.get("cache.loads").counter().count() == 1
+    }
+
+    def "test loader failure is thrown and not cached"() {
+        given:
+        def cache = newManager().getCache("users")
+
+        when:
+        cache.get("jack", { throw new IllegalStateException("db down") } as Callable<User>)
+
+        then:
+        thrown(Cache.ValueRetrievalException)
+
+        when:
+        def user = cache.get("jack", { newUser() } as Callable<User>)
+
+        then:
+        user == newUser()
+    }
+
+    def "test missing value is cached locally for negative ttl only"() {
+        given:
+        properties.near.negativeTtl = Duration.ofMillis(200)
+        def cache = newManager().getCache("users")
+        def loads = new AtomicInteger()
+        def loader = { loads.incrementAndGet(); null } as Callable<User>
+
+        when:
+        def first = cache.get("nobody", loader)
+        def second = cache.get("nobody", loader)
+
+        then:
+        first == null
+        second == null
+        loads.get() == 1
+        !redisTemplate.hasKey(PREFIX + "users::nobody")
+
+        when:
+        sleep(400)
+        cache.get("nobody", loader)
+
+        then:
+        loads.get() == 2
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * @(#)UserRedisSerializerTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.cache
+
+import io.github.howiefh.spock.domain.User
+import org.springframework.cache.support.NullValue
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class UserRedisSerializerTest extends Specification {
+    UserRedisSerializer serializer = new UserRedisSerializer()
+
+    static User newUser() {
+        new User(id: 1L, userNo: "jack", userName: "杰克", gender: 1, version: 1, deleteFlag: 0,
+                createdBy: "sys", modifiedBy: "sys", createdDate: new Date(1700000000000L), modifiedDate: new Date(1700000001000L))
+    }
+
+    @Unroll
+    def "#scene test round trip"() {
+        when:
+        def decoded = serializer.deserialize(serializer.serialize(user))
+
+        then:
+        decoded == user
+
+        where:
+        scene      | user
+        "全部字段" | newUser()
+        "空字段"   | new User(userNo: "jack")
+        "负数"     | new User(id: -1L, gender: -1)
+    }
+
+    def "test paging fields are not encoded"() {
+        given:
+        User user = newUser()
+        user.page = 3
+        user.rows = 20
+        user.invitorNo = "1234"
+
+        when:
+        User decoded = serializer.deserialize(serializer.serialize(user)) as User
+
+        then:
+        decoded == newUser()
+    }
+
+    def "test fallback to jdk serialization"() {
+        given:
+        def jdk = new JdkSerializationRedisSerializer()
+
+        expect:
+        serializer.deserialize(serializer.serialize(NullValue.INSTANCE)) == NullValue.INSTANCE
+        serializer.deserialize(jdk.serialize(newUser())) == newUser()
+    }
+
+    def "test encoded size is smaller than jdk and json"() {
+        given:
+        User user = newUser()
+        int binarySize = serializer.serialize(user).length
+        int jdkSize = new JdkSerializationRedisSerializer().serialize(user).length
+        int jsonSize = new GenericJackson2JsonRedisSerializer().serialize(user).length
+
+        expect:
+        binarySize < jsonSize
+        binarySize < jdkSize
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * @(#)HttpClientConfigurationTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config
+
+import com.sun.net.httpserver.HttpServer
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.http.client.ClientHttpRequestFactory
+import org.springframework.web.client.RestTemplate
+import spock.lang.*
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * 使用本地 stub 服务测试各类 http 客户端
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class HttpClientConfigurationTest extends Specification {
+    @Shared
+    HttpServer server
+    @Shared
+    Set<Integer> clientPorts = ConcurrentHashMap.newKeySet()
+    @Shared
+    HttpClientProperties properties = new HttpClientProperties()
+    @Shared
+    HttpClientConfiguration.PooledHttpClientConfiguration pooled = new HttpClientConfiguration.PooledHttpClientConfiguration()
+
+    def setupSpec() {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0)
+        server.createContext("/users/auth") { exchange ->
+            clientPorts.add(exchange.remoteAddress.port)
+            byte[] body = "{\"code\":200,\"data\":\"杰克\"}".getBytes(StandardCharsets.UTF_8)
+            exchange.responseHeaders.add("Content-Type", "application/json")
+            exchange.sendResponseHeaders(200, body.length)
+            exchange.responseBody.withCloseable { it.write(body) }
+        }
+        server.start()
+    }
+
+    def cleanupSpec() {
+        server.stop(0)
+    }
+
+    @Unroll
+    def "#type client reuses connections"() {
+        given:
+        clientPorts.clear()
+        RestTemplate restTemplate = new RestTemplate(factory)
+        String url = "http://127.0.0.1:${server.address.port}/users/auth?loginId=jack"
+
+        when:
+        def bodies = (1..5).collect { restTemplate.getForObject(url, Map) }
+
+        then:
+        bodies.every { it.data == "杰克" }
+        clientPorts.size() == 1
+
+        where:
+        type     | factory
+        "pooled" | pooledFactory()
+        "http2"  | new HttpClientConfiguration().http2ClientHttpRequestFactory(properties)
+    }
+
+    def "test pool metrics are registered"() {
+        given:
+        def registry = new SimpleMeterRegistry()
+        def connectionManager = pooled.httpClientConnectionManager(properties)
+
+        when:
+        pooled.httpClientConnectionPoolMetrics(connectionManager).bindTo(registry)
+
+        then:
+        registry.get("httpcomponents.httpclient.pool.total.max").tags("httpclient", "restTemplate").gauge().value() == 200
+
+        cleanup:
+        connectionManager.close()
+    }
+
+    ClientHttpRequestFactory pooledFactory() {
+        def connectionManager = pooled.httpClientConnectionManager(properties)
+        pooled.pooledClientHttpRequestFactory(pooled.pooledHttpClient(connectionManager, properties))
+    }
+}
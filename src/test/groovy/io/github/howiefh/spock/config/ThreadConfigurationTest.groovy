@@ -0,0 +1,79 @@
+/*
+ * @(#)ThreadConfigurationTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.config
+
+import com.zaxxer.hikari.HikariDataSource
+import io.github.howiefh.spock.SpockSpringTest
+import io.github.howiefh.spock.dao.UserDao
+import io.github.howiefh.spock.domain.User
+import io.github.howiefh.spock.util.ConcurrencyLimitedDataSource
+import io.github.howiefh.spock.util.VirtualThreads
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.ApplicationContext
+import org.springframework.test.context.TestPropertySource
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.*
+
+import javax.sql.DataSource
+
+/**
+ * 同时开启虚拟线程和读写分离，只有路由数据源被包装，主库数据源仍然是 HikariDataSource；
+ * 许可数为 1，重复包装时获取一个连接需要两个许可会一直等待
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@SpockSpringTest
+@TestPropertySource(properties = [
+        "spock.threads.virtual=true",
+        "spock.threads.jdbc-concurrency=1",
+        "spock.datasource.routing.enabled=true",
+        "spock.datasource.routing.health-check-interval-ms=3600000",
+        "spock.datasource.routing.replicas[0].name=replica1",
+        "spock.datasource.routing.replicas[0].url=jdbc:h2:mem:replica1;MODE=MYSQL;DB_CLOSE_DELAY=-1;IGNORECASE=FALSE;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;",
+        "spock.datasource.routing.replicas[0].username=sa",
+        "spock.datasource.routing.replicas[0].password=sa"])
+class ThreadConfigurationTest extends Specification {
+    @Autowired
+    ApplicationContext applicationContext
+    @Autowired
+    DataSource dataSource
+    @Autowired
+    UserDao userDao
+    @Autowired
+    PlatformTransactionManager transactionManager
+
+    def "test only the routing data source is limited"() {
+        expect:
+        applicationContext.getBean("primaryDataSource") instanceof HikariDataSource
+        (dataSource instanceof ConcurrencyLimitedDataSource) == VirtualThreads.isSupported()
+    }
+
+    @Timeout(10)
+    def "test a connection takes a single permit"() {
+        when:
+        User user = new TransactionTemplate(transactionManager).execute {
+            userDao.findOne(new User(userNo: "jack"))
+        }
+
+        then:
+        user != null
+    }
+}
@@ -28,7 +28,9 @@ import org.springframework.test.web.servlet.result.MockMvcResultHandlers
 import org.springframework.transaction.annotation.Transactional
 import spock.lang.*
 
+import static org.hamcrest.Matchers.containsString
 import static org.hamcrest.Matchers.is
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status
 
@@ -64,6 +66,51 @@ class UserControllerTest extends Specification {
         "查询正常" | "jack" || "杰克"
     }
 
+    def "#scene test batch get userNos=#userNos -> size=#size"() {
+        expect:
+        mvc.perform(MockMvcRequestBuilders.get("/users/batch")
+                .param("userNos", userNos)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("code", is(200)))
+                .andExpect(jsonPath("data.length()", is(size)))
+                .andDo(MockMvcResultHandlers.print());
+
+        where:
+        scene          | userNos          || size
+        "全部存在"     | "jack"           || 1
+        "部分不存在"   | "nobody,jack"    || 1
+        "重复用户编号" | "jack,jack"      || 1
+        "全部不存在"   | "nobody,nothing" || 0
+    }
+
+    def "test export users as ndjson"() {
+        expect:
+        mvc.perform(MockMvcRequestBuilders.get("/users/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string(containsString("\"userNo\":\"jack\"")))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    def "#scene test list by cursor afterId=#afterId -> size=#size"() {
+        expect:
+        mvc.perform(MockMvcRequestBuilders.get("/users/cursor")
+                .param("pageSize", "10")
+                .param("afterId", afterId)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("code", is(200)))
+                .andExpect(jsonPath("data.items.length()", is(size)))
+                .andExpect(jsonPath("data.nextAfterId").doesNotExist())
+                .andDo(MockMvcResultHandlers.print());
+
+        where:
+        scene      | afterId || size
+        "第一页"   | ""      || 1
+        "游标之后" | "1"     || 0
+    }
+
     @Unroll
     @Transactional
     def "#scene test register loginId=#loginId, invitorNo=#invitorNo, userName=#userName -> code=#code"() {
@@ -1,10 +1,17 @@
 package io.github.howiefh.spock.dao
 
 import io.github.howiefh.spock.SpockSpringTest
+import io.github.howiefh.spock.domain.User
 import io.github.howiefh.spock.domain.UserStatistics
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.transaction.annotation.Transactional
 import spock.lang.*
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+
 /**
  *
  * @author fenghao
@@ -15,6 +22,10 @@ import spock.lang.*
 class UserDaoTest extends Specification {
     @Autowired
     UserDao userDao
+    @Autowired
+    IdempotencyDao idempotencyDao
+    @Autowired
+    JdbcTemplate jdbcTemplate
 
     def "test statistics use databaseIdProvider"() {
         when:
@@ -24,4 +35,48 @@ class UserDaoTest extends Specification {
         userStatistics.male == 1
         userStatistics.female == 0
     }
+
+    @Unroll
+    @Transactional
+    def "test saveIfAbsent userNo=#userNo -> rows=#expectedRows"() {
+        given:
+        User user = new User(userNo: userNo, userName: "测试", gender: 1, createdBy: "sys", modifiedBy: "sys")
+        user.init()
+
+        expect:
+        userDao.saveIfAbsent(user) == expectedRows
+
+        where:
+        userNo      || expectedRows
+        "jack"      || 0
+        "zixuwuyou" || 1
+    }
+
+    def "test concurrent saveIfAbsent writes once without exception"() {
+        given:
+        def pool = Executors.newFixedThreadPool(8)
+        def start = new CountDownLatch(1)
+
+        when:
+        def futures = (0..<8).collect { i ->
+            CompletableFuture.supplyAsync({
+                User user = new User(userNo: "concurrent", userName: "并发", gender: 1, createdBy: "sys", modifiedBy: "sys")
+                user.init()
+                start.await()
+                [userDao.saveIfAbsent(user), idempotencyDao.saveIfAbsent("register:concurrent", "concurrent${i}")]
+            }, pool)
+        }
+        start.countDown()
+        def rows = futures*.join()
+
+        then:
+        rows.sum { it[0] } == 1
+        rows.sum { it[1] } == 1
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_user WHERE user_no = 'concurrent'", Long) == 1
+
+        cleanup:
+        pool.shutdown()
+        jdbcTemplate.update("DELETE FROM sys_user WHERE user_no = 'concurrent'")
+        jdbcTemplate.update("DELETE FROM sys_idempotency WHERE idempotency_key = 'register:concurrent'")
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * @(#)StatementMetricsInterceptorTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.dao.interceptor
+
+import io.github.howiefh.spock.SpockSpringTest
+import io.github.howiefh.spock.dao.UserDao
+import io.micrometer.core.instrument.MeterRegistry
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.TestPropertySource
+import spock.lang.*
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@SpockSpringTest
+@TestPropertySource(properties = ["spock.mybatis.statement.slow-threshold=0ms", "spock.mybatis.statement.slow-capacity=2",
+        "spock.mybatis.statement.capture-parameters=true"])
+class StatementMetricsInterceptorTest extends Specification {
+    @Autowired
+    UserDao userDao
+    @Autowired
+    MeterRegistry meterRegistry
+    @Autowired
+    SlowStatementLog slowStatementLog
+    @Autowired
+    StatementMetricsEndpoint statementMetricsEndpoint
+
+    def setup() {
+        slowStatementLog.clear()
+    }
+
+    def "test statement latency and rows are recorded per statement"() {
+        given:
+        String id = UserDao.name + ".findByUserNos"
+        long before = meterRegistry.find("mybatis.statement").tag("statement", id).timer()?.count() ?: 0
+
+        when:
+        userDao.findByUserNos(["jack", "nobody"])
+
+        then:
+        meterRegistry.get("mybatis.statement").tag("statement", id).timer().count() == before + 1
+        meterRegistry.get("mybatis.statement.rows").tag("statement", id).summary().max() == 1
+        statementMetricsEndpoint.statements().statements*.statement.contains(id)
+    }
+
+    def "test slow statements keep bound parameters and latest entries"() {
+        when:
+        userDao.findByUserNos(["jack"])
+        userDao.findByUserNos(["rose"])
+        userDao.findByUserNos(["tom"])
+        def slow = slowStatementLog.snapshot()
+
+        then:
+        slow.size() == 2
+        slow*.parameters == [["tom"], ["rose"]]
+        slow.every { it.id == UserDao.name + ".findByUserNos" && it.sql.toLowerCase().contains("select") }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * @(#)StatementParameterMaskingTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.dao.interceptor
+
+import io.github.howiefh.spock.SpockSpringTest
+import io.github.howiefh.spock.dao.UserDao
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointProperties
+import org.springframework.test.context.TestPropertySource
+import spock.lang.*
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@SpockSpringTest
+@TestPropertySource(properties = "spock.mybatis.statement.slow-threshold=0ms")
+class StatementParameterMaskingTest extends Specification {
+    @Autowired
+    UserDao userDao
+    @Autowired
+    SlowStatementLog slowStatementLog
+    @Autowired
+    WebEndpointProperties webEndpointProperties
+
+    def "test slow statement parameters are masked by default"() {
+        given:
+        slowStatementLog.clear()
+
+        when:
+        userDao.findByUserNos(["jack", "rose"])
+        def slow = slowStatementLog.snapshot().find { it.id == UserDao.name + ".findByUserNos" }
+
+        then:
+        slow.parameters == ["***", "***"]
+    }
+
+    def "test statements endpoint is not exposed by default"() {
+        expect:
+        !webEndpointProperties.exposure.include.contains("statements")
+    }
+}
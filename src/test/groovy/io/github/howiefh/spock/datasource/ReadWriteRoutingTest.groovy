@@ -0,0 +1,139 @@
+/*
+ * @(#)ReadWriteRoutingTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.datasource
+
+import com.zaxxer.hikari.HikariDataSource
+import io.github.howiefh.spock.SpockSpringTest
+import io.github.howiefh.spock.dao.UserDao
+import io.github.howiefh.spock.domain.User
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.core.io.ClassPathResource
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator
+import org.springframework.test.context.TestPropertySource
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.*
+
+import java.util.concurrent.CompletableFuture
+
+/**
+ * 两个 H2 内存数据库作为从库，从库中 jack 的名称改为从库名称以区分查询使用的数据库
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@SpockSpringTest
+@TestPropertySource(properties = [
+        "spock.datasource.routing.enabled=true",
+        "spock.datasource.routing.read-your-writes-window=300ms",
+        "spock.datasource.routing.health-check-interval-ms=3600000",
+        "spock.datasource.routing.replicas[0].name=replica1",
+        "spock.datasource.routing.replicas[0].url=jdbc:h2:mem:replica1;MODE=MYSQL;DB_CLOSE_DELAY=-1;IGNORECASE=FALSE;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;",
+        "spock.datasource.routing.replicas[0].username=sa",
+        "spock.datasource.routing.replicas[0].password=sa",
+        "spock.datasource.routing.replicas[1].name=replica2",
+        "spock.datasource.routing.replicas[1].url=jdbc:h2:mem:replica2;MODE=MYSQL;DB_CLOSE_DELAY=-1;IGNORECASE=FALSE;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;",
+        "spock.datasource.routing.replicas[1].username=sa",
+        "spock.datasource.routing.replicas[1].password=sa"])
+class ReadWriteRoutingTest extends Specification {
+    @Autowired
+    UserDao userDao
+    @Autowired
+    ReplicaPool replicaPool
+    @Autowired
+    JdbcTemplate jdbcTemplate
+    @Autowired
+    PlatformTransactionManager transactionManager
+
+    def setup() {
+        replicaPool.dataSources.each { name, dataSource ->
+            new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql")).execute(dataSource)
+            new JdbcTemplate(dataSource).update("UPDATE sys_user SET user_name = ? WHERE user_no = 'jack'", name)
+        }
+    }
+
+    def cleanup() {
+        jdbcTemplate.update("DELETE FROM sys_user WHERE user_no = 'routing'")
+    }
+
+    String queryName(String userNo) {
+        userDao.findOne(new User(userNo: userNo))?.userName
+    }
+
+    def "test queries outside transactions are balanced across replicas"() {
+        when:
+        def names = (0..<4).collect { queryName("jack") }
+
+        then:
+        names as Set == ["replica1", "replica2"] as Set
+        !jdbcTemplate.queryForObject("SELECT user_name FROM sys_user WHERE user_no = 'jack'", String).startsWith("replica")
+        !DataSourceRouting.onPrimary { queryName("jack") }.startsWith("replica")
+    }
+
+    def "test reads after a write use primary within the window"() {
+        given:
+        User user = new User(userNo: "routing", userName: "路由", gender: 1, createdBy: "sys", modifiedBy: "sys")
+        user.init()
+
+        when:
+        userDao.save(user)
+
+        then: "当前线程和按写入的用户编号的查询读主库，其他查询读从库"
+        queryName("routing") == "路由"
+        CompletableFuture.supplyAsync { queryName("routing") }.get() == "路由"
+        CompletableFuture.supplyAsync { queryName("jack") }.get().startsWith("replica")
+
+        when:
+        sleep(400)
+
+        then:
+        queryName("routing") == null
+    }
+
+    def "test read-only transactions use replica and read-write transactions use primary"() {
+        given:
+        def readOnly = new TransactionTemplate(transactionManager)
+        readOnly.readOnly = true
+
+        expect:
+        readOnly.execute { queryName("jack") }.startsWith("replica")
+        !new TransactionTemplate(transactionManager).execute { queryName("jack") }.startsWith("replica")
+    }
+
+    def "test unavailable replica is ejected and queries fail over to primary"() {
+        given:
+        (replicaPool.dataSources.replica1 as HikariDataSource).close()
+
+        when:
+        def names = (0..<4).collect { queryName("jack") }
+
+        then:
+        !replicaPool.isHealthy("replica1")
+        !names.contains("replica1")
+        names.last() == "replica2"
+
+        when:
+        replicaPool.checkHealth()
+
+        then:
+        !replicaPool.isHealthy("replica1")
+        replicaPool.isHealthy("replica2")
+    }
+}
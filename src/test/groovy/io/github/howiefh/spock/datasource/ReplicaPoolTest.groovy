@@ -0,0 +1,100 @@
+/*
+ * @(#)ReplicaPoolTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.datasource
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.*
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.SQLException
+import java.time.Duration
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class ReplicaPoolTest extends Specification {
+    boolean down = false
+    Connection connection = Stub() {
+        isValid(_) >> true
+    }
+    DataSource replica1 = Stub() {
+        getConnection() >> { if (down) throw new SQLException("down"); connection }
+    }
+    DataSource replica2 = Stub() {
+        getConnection() >> connection
+    }
+    ReplicaPool pool = new ReplicaPool([replica1: replica1, replica2: replica2], [replica2: 3], 2, 2,
+            Duration.ofSeconds(1), new SimpleMeterRegistry())
+
+    def "test replicas are chosen by weight"() {
+        expect:
+        (0..<8).collect { pool.choose() }.countBy { it } == [replica1: 2, replica2: 6]
+    }
+
+    def "test replica is ejected after consecutive failed checks and recovers after consecutive passed checks"() {
+        when:
+        down = true
+        pool.checkHealth()
+
+        then:
+        pool.isHealthy("replica1")
+
+        when:
+        pool.checkHealth()
+
+        then:
+        !pool.isHealthy("replica1")
+        (0..<4).collect { pool.choose() } as Set == ["replica2"] as Set
+
+        when:
+        down = false
+        pool.checkHealth()
+
+        then:
+        !pool.isHealthy("replica1")
+
+        when:
+        pool.checkHealth()
+
+        then:
+        pool.isHealthy("replica1")
+    }
+
+    def "test connection failure ejects replica immediately"() {
+        when:
+        pool.markFailure("replica1", new SQLException("timeout"))
+        pool.markFailure("replica2", new SQLException("timeout"))
+
+        then:
+        !pool.isHealthy("replica1")
+        !pool.isHealthy("replica2")
+        pool.choose() == null
+    }
+
+    def "test replica cannot be named primary"() {
+        when:
+        new ReplicaPool([primary: replica1], [:], 2, 2, Duration.ofSeconds(1), new SimpleMeterRegistry())
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -23,6 +23,7 @@ import io.github.howiefh.spock.facade.dto.UserRegisterRequest
 import io.github.howiefh.spock.rpc.UserAuthRpc
 import org.spockframework.spring.SpringBean
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
 import org.springframework.transaction.annotation.Transactional
 import spock.lang.*
 
@@ -37,6 +38,9 @@ class UserFacadeImplUseSqlInitTest extends Specification {
     @Autowired
     UserFacade userFacade
 
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
     @SpringBean
     UserAuthRpc userAuthRpc = Mock()
 
@@ -54,4 +58,47 @@ class UserFacadeImplUseSqlInitTest extends Specification {
         where:
         [scene, userNo, invitorNo, userName, expectedCode, invokeRpcTimes] << SpockUtils.parseJson("usercases.json")
     }
+
+    @Transactional
+    def "test batch register reports result per request"() {
+        given:
+        def requests = [
+                new UserRegisterRequest(userNo: "jack", invitorNo: "1234"),
+                new UserRegisterRequest(userNo: "zixuwuyou", invitorNo: "1234"),
+                new UserRegisterRequest(userNo: "zixuwuyou", invitorNo: "1234"),
+                new UserRegisterRequest(userNo: "wuming", invitorNo: "1234"),
+                new UserRegisterRequest(userNo: "", invitorNo: "1234")
+        ]
+        1 * userAuthRpc.queryAuthName("zixuwuyou") >> "子虚乌有"
+        1 * userAuthRpc.queryAuthName("wuming") >> ""
+
+        when:
+        def response = userFacade.batchRegister(requests)
+
+        then:
+        response.code == 200
+        response.data*.code == [400, 200, 400, 400, 400]
+        response.data*.msg == ["记录已存在", null, "记录已存在", "用户未认证", "请填写用户编号"]
+    }
+
+    /**
+     * 异步注册在其他线程中写入，不在测试事务中，需要手动清理
+     */
+    @Unroll
+    def "#scene test register async userNo=#userNo, invitorNo=#invitorNo, userName=#userName -> expectedCode=#expectedCode"() {
+        given:
+        UserRegisterRequest registerRequest = new UserRegisterRequest(userNo: userNo, invitorNo: invitorNo)
+        invokeRpcTimes * userAuthRpc.queryAuthName(_) >> userName
+
+        expect:
+        def response = userFacade.registerAsync(registerRequest).join()
+        response.code == expectedCode
+        response.code != 200 || response.data == userNo
+
+        cleanup:
+        jdbcTemplate.update("DELETE FROM sys_user WHERE user_no = ?", "zixuwuyou")
+
+        where:
+        [scene, userNo, invitorNo, userName, expectedCode, invokeRpcTimes] << SpockUtils.parseJson("usercases.json")
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * @(#)AuthNameCoalescerTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.rpc
+
+import com.sun.net.httpserver.HttpServer
+import io.github.howiefh.spock.config.AuthRpcProperties
+import org.springframework.web.client.RestTemplate
+import spock.lang.*
+
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * 使用本地 stub 认证服务测试合并查询
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class AuthNameCoalescerTest extends Specification {
+    @Shared
+    HttpServer server
+    @Shared
+    AtomicInteger batchRequests = new AtomicInteger()
+
+    def setupSpec() {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0)
+        server.createContext("/users/auth/batch") { exchange ->
+            batchRequests.incrementAndGet()
+            def loginIds = URLDecoder.decode(exchange.requestURI.rawQuery.substring("loginIds=".length()), "UTF-8").split(",")
+            def data = loginIds.findAll { !it.startsWith("anonymous") }.collect { "\"${it}\":\"name-${it}\"" }.join(",")
+            byte[] body = "{\"code\":200,\"data\":{${data}}}".getBytes(StandardCharsets.UTF_8)
+            exchange.responseHeaders.add("Content-Type", "application/json")
+            exchange.sendResponseHeaders(200, body.length)
+            exchange.responseBody.withCloseable { it.write(body) }
+        }
+        server.start()
+    }
+
+    def cleanupSpec() {
+        server.stop(0)
+    }
+
+    def "test concurrent queries are coalesced into batches"() {
+        given:
+        def properties = new AuthRpcProperties(baseUrl: "http://127.0.0.1:${server.address.port}")
+        def rpc = new UserAuthRpc(restTemplate: new RestTemplate(), authRpcProperties: properties)
+        def coalescer = new AuthNameCoalescer(rpc.&queryAuthNames, 50, Duration.ofMillis(50), 1000)
+        def pool = Executors.newFixedThreadPool(20)
+        def start = new CountDownLatch(1)
+        batchRequests.set(0)
+
+        when:
+        def futures = (0..<40).collect { i ->
+            String loginId = i % 10 == 0 ? "anonymous${i}" : "user${i % 20}"
+            CompletableFuture.supplyAsync({
+                start.await()
+                [loginId, coalescer.submit(loginId).join()]
+            }, pool)
+        }
+        start.countDown()
+        def results = futures.collect { it.join() }
+
+        then:
+        results.every { loginId, name -> loginId.startsWith("anonymous") ? name == null : name == "name-${loginId}" }
+        batchRequests.get() < 40
+
+        cleanup:
+        coalescer.close()
+        pool.shutdown()
+    }
+
+    def "test batch failure completes every caller exceptionally"() {
+        given:
+        def coalescer = new AuthNameCoalescer({ throw new IllegalStateException("认证服务不可用") }, 10, Duration.ofMillis(10), 100)
+
+        when:
+        coalescer.submit("jack").join()
+
+        then:
+        def e = thrown(Exception)
+        e.cause instanceof IllegalStateException
+
+        cleanup:
+        coalescer.close()
+    }
+
+    def "test batches run concurrently up to the limit"() {
+        given:
+        def running = new AtomicInteger()
+        def maxRunning = new AtomicInteger()
+        def coalescer = new AuthNameCoalescer({ List<String> loginIds ->
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math.&max)
+            Thread.sleep(100)
+            running.decrementAndGet()
+            loginIds.collectEntries { [it, "name-${it}".toString()] }
+        }, 1, Duration.ZERO, 100, 2)
+
+        when:
+        def futures = (0..<6).collect { coalescer.submit("user${it}") }
+        def names = futures*.join()
+
+        then:
+        names == (0..<6).collect { "name-user${it}" }
+        maxRunning.get() == 2
+
+        cleanup:
+        coalescer.close()
+    }
+}
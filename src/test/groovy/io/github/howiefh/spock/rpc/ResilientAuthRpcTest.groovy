@@ -0,0 +1,191 @@
+/*
+ * @(#)ResilientAuthRpcTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.rpc
+
+import com.sun.net.httpserver.HttpServer
+import io.github.howiefh.spock.config.AuthRpcProperties
+import io.github.resilience4j.circuitbreaker.CircuitBreaker
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.http.client.SimpleClientHttpRequestFactory
+import org.springframework.web.client.RestTemplate
+import spock.lang.*
+
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * 使用可注入延迟的本地 stub 认证服务测试熔断、并发隔离和对冲请求
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class ResilientAuthRpcTest extends Specification {
+    @Shared
+    HttpServer server
+    /**
+     * 第 n 次请求的延迟，毫秒
+     */
+    @Shared
+    Closure<Long> delay = { 0L }
+    @Shared
+    AtomicInteger requests = new AtomicInteger()
+
+    def setupSpec() {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0)
+        server.executor = Executors.newCachedThreadPool()
+        server.createContext("/users/auth") { exchange ->
+            Thread.sleep(delay(requests.incrementAndGet()))
+            byte[] body = "{\"code\":200,\"data\":\"杰克\"}".getBytes(StandardCharsets.UTF_8)
+            exchange.responseHeaders.add("Content-Type", "application/json")
+            exchange.sendResponseHeaders(200, body.length)
+            exchange.responseBody.withCloseable { it.write(body) }
+        }
+        server.start()
+    }
+
+    def cleanupSpec() {
+        server.stop(0)
+    }
+
+    def setup() {
+        requests.set(0)
+        delay = { 0L }
+    }
+
+    ResilientAuthRpc newRpc(AuthRpcProperties properties) {
+        properties.baseUrl = "http://127.0.0.1:${server.address.port}"
+        def factory = new SimpleClientHttpRequestFactory(readTimeout: 2000)
+        def userAuthRpc = new UserAuthRpc(restTemplate: new RestTemplate(factory), authRpcProperties: properties)
+        new ResilientAuthRpc(userAuthRpc, properties, new SimpleMeterRegistry())
+    }
+
+    def "test slow calls open the circuit and fail fast"() {
+        given:
+        def properties = new AuthRpcProperties()
+        properties.circuitBreaker.with {
+            slowCallDurationThreshold = Duration.ofMillis(100)
+            slidingWindowSize = 5
+            minimumNumberOfCalls = 5
+        }
+        def rpc = newRpc(properties)
+        delay = { 200L }
+
+        when:
+        5.times { rpc.queryAuthName("jack") }
+        long start = System.nanoTime()
+        rpc.queryAuthName("jack")
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == "认证服务暂不可用，请稍后重试"
+        (System.nanoTime() - start) < Duration.ofMillis(100).toNanos()
+        rpc.circuitBreaker.state == CircuitBreaker.State.OPEN
+        requests.get() == 5
+
+        cleanup:
+        rpc.destroy()
+    }
+
+    def "test calls beyond the bulkhead are rejected"() {
+        given:
+        def properties = new AuthRpcProperties()
+        properties.bulkhead.maxConcurrentCalls = 1
+        def rpc = newRpc(properties)
+        delay = { 300L }
+
+        when:
+        def slow = CompletableFuture.supplyAsync { rpc.queryAuthName("jack") }
+        Thread.sleep(100)
+        rpc.queryAuthName("rose")
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == "认证服务繁忙，请稍后重试"
+        slow.join() == "杰克"
+
+        cleanup:
+        rpc.destroy()
+    }
+
+    def "test hedged request cuts tail latency"() {
+        given:
+        def properties = new AuthRpcProperties()
+        properties.hedge.with {
+            enabled = true
+            delay = Duration.ofMillis(50)
+        }
+        def rpc = newRpc(properties)
+        // 第一次请求很慢，对冲发出的第二次请求立即返回
+        delay = { int n -> n == 1 ? 1500L : 0L }
+
+        when:
+        long start = System.nanoTime()
+        def name = rpc.queryAuthName("jack")
+        long elapsed = System.nanoTime() - start
+
+        then:
+        name == "杰克"
+        elapsed < Duration.ofMillis(1000).toNanos()
+        requests.get() == 2
+
+        cleanup:
+        rpc.destroy()
+    }
+
+    def "test losing hedged attempt is cancelled"() {
+        given:
+        def properties = new AuthRpcProperties()
+        properties.hedge.with {
+            enabled = true
+            delay = Duration.ofMillis(50)
+        }
+        def calls = new AtomicInteger()
+        def interrupted = new CountDownLatch(1)
+        UserAuthRpc userAuthRpc = Stub() {
+            queryAuthName("jack") >> {
+                if (calls.incrementAndGet() == 1) {
+                    try {
+                        Thread.sleep(5000)
+                    } catch (InterruptedException e) {
+                        interrupted.countDown()
+                        throw new IllegalStateException("认证服务调用中断", e)
+                    }
+                }
+                "杰克"
+            }
+        }
+        def rpc = new ResilientAuthRpc(userAuthRpc, properties, new SimpleMeterRegistry())
+
+        when:
+        def name = rpc.queryAuthName("jack")
+
+        then:
+        name == "杰克"
+        calls.get() == 2
+        interrupted.await(1, TimeUnit.SECONDS)
+
+        cleanup:
+        rpc.destroy()
+    }
+}
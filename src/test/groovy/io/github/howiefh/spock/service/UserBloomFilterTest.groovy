@@ -0,0 +1,113 @@
+/*
+ * @(#)UserBloomFilterTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.service
+
+import io.github.howiefh.spock.SpockSpringTest
+import io.github.howiefh.spock.dao.UserDao
+import io.github.howiefh.spock.domain.User
+import io.micrometer.core.instrument.MeterRegistry
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.TestPropertySource
+import org.springframework.transaction.annotation.Transactional
+import spock.lang.*
+import spock.util.concurrent.PollingConditions
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@SpockSpringTest
+@TestPropertySource(properties = ["spock.user.bloom-filter.mode=local", "spock.user.bloom-filter.ready-check-interval-ms=100"])
+class UserBloomFilterTest extends Specification {
+    @Autowired
+    UserBloomFilter userBloomFilter
+    @Autowired
+    UserService userService
+    @Autowired
+    UserDao userDao
+    @Autowired
+    MeterRegistry meterRegistry
+
+    def setup() {
+        new PollingConditions(timeout: 10).eventually {
+            assert userBloomFilter.ready
+        }
+    }
+
+    def "test existing users are loaded at startup"() {
+        expect:
+        userBloomFilter.mightContain("jack")
+        !userBloomFilter.mightContain("nobody")
+    }
+
+    def "test unknown user is answered without database access"() {
+        given:
+        String id = UserDao.name + ".findOne"
+        long before = meterRegistry.find("mybatis.statement").tag("statement", id).timer()?.count() ?: 0
+
+        when:
+        User user = userService.queryUser("nobody")
+
+        then:
+        user == null
+        (meterRegistry.find("mybatis.statement").tag("statement", id).timer()?.count() ?: 0) == before
+        meterRegistry.get("user.bloom.filter").tag("result", "absent").counter().count() > 0
+    }
+
+    @Transactional
+    def "test saved user is added to the filter"() {
+        given:
+        User user = new User(userNo: "zixuwuyou", userName: "子虚乌有", gender: 1, createdBy: "sys", modifiedBy: "sys")
+        user.init()
+
+        when:
+        userDao.save(user)
+
+        then:
+        userBloomFilter.mightContain("zixuwuyou")
+    }
+
+    def "test unknown user is checked once before the cache"() {
+        given:
+        long before = meterRegistry.get("user.bloom.filter").tag("result", "absent").counter().count()
+
+        when:
+        userService.queryUser("nobody2")
+
+        then:
+        meterRegistry.get("user.bloom.filter").tag("result", "absent").counter().count() == before + 1
+    }
+
+    def "test rebuild clears users that are no longer in the database"() {
+        given:
+        userBloomFilter.afterWrite("save", new User(userNo: "ghost"), 1)
+        assert userBloomFilter.mightContain("ghost")
+
+        when:
+        userBloomFilter.invalidate()
+
+        then:
+        new PollingConditions(timeout: 10).eventually {
+            assert userBloomFilter.ready
+            assert !userBloomFilter.mightContain("ghost")
+        }
+        userBloomFilter.mightContain("jack")
+    }
+}
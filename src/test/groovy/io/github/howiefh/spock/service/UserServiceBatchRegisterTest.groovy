@@ -0,0 +1,105 @@
+/*
+ * @(#)UserServiceBatchRegisterTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.service
+
+import io.github.howiefh.spock.SpockSpringTest
+import io.github.howiefh.spock.facade.dto.UserRegisterRequest
+import io.github.howiefh.spock.rpc.UserAuthRpc
+import org.spockframework.spring.SpringBean
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.transaction.annotation.Transactional
+import spock.lang.*
+
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@SpockSpringTest
+class UserServiceBatchRegisterTest extends Specification {
+    @Autowired
+    UserService userService
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    AtomicInteger active = new AtomicInteger()
+    AtomicInteger maxActive = new AtomicInteger()
+
+    @SpringBean
+    UserAuthRpc userAuthRpc = Stub() {
+        queryAuthName({ it.startsWith("bulk-") }) >> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), { a, b -> Math.max(a, b) })
+            Thread.sleep(20)
+            active.decrementAndGet()
+            null
+        }
+        queryAuthName("batch-1") >> "批量一"
+        queryAuthName("batch-2") >> { throw new IllegalStateException("connect timed out") }
+        queryAuthName("batch-3") >> "批量三"
+        queryAuthName("batch-4") >> ""
+        queryAuthName("batch-5") >> "长" * 100
+    }
+
+    @Transactional
+    def "test auth failure only fails its own row"() {
+        given:
+        def requests = (1..4).collect { new UserRegisterRequest(userNo: "batch-${it}", invitorNo: "1234") }
+        requests << new UserRegisterRequest(userNo: "jack", invitorNo: "1234")
+
+        when:
+        def results = userService.registerUsers(requests)
+
+        then:
+        results*.code == [200, 503, 200, 400, 400]
+        results*.userNo == ["batch-1", "batch-2", "batch-3", "batch-4", "jack"]
+        results[1].msg == "认证服务调用失败"
+        jdbcTemplate.queryForList("SELECT user_no FROM sys_user WHERE user_no LIKE 'batch-%' ORDER BY user_no", String) == ["batch-1", "batch-3"]
+    }
+
+    @Transactional
+    def "test write failure only fails its own row"() {
+        given:
+        def requests = [new UserRegisterRequest(userNo: "batch-1", invitorNo: "1234"),
+                        new UserRegisterRequest(userNo: "batch-5", invitorNo: "1234"),
+                        new UserRegisterRequest(userNo: "batch-3", invitorNo: "1234")]
+
+        when:
+        def results = userService.registerUsers(requests)
+
+        then:
+        results*.code == [200, 500, 200]
+        results[1].msg == "注册失败"
+        jdbcTemplate.queryForList("SELECT user_no FROM sys_user WHERE user_no LIKE 'batch-%' ORDER BY user_no", String) == ["batch-1", "batch-3"]
+    }
+
+    def "test bulk lookups leave auth capacity for single registrations"() {
+        given:
+        def requests = (1..30).collect { new UserRegisterRequest(userNo: "bulk-${it}", invitorNo: "1234") }
+
+        when:
+        def results = userService.registerUsers(requests)
+
+        then:
+        results*.code.every { it == 400 }
+        maxActive.get() <= 5
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * @(#)UserServiceIdempotentTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.service
+
+import io.github.howiefh.spock.SpockSpringTest
+import io.github.howiefh.spock.cache.RedisLockService
+import io.github.howiefh.spock.facade.dto.UserRegisterRequest
+import io.github.howiefh.spock.rpc.UserAuthRpc
+import org.spockframework.spring.SpringBean
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.test.context.TestPropertySource
+import org.springframework.transaction.annotation.Transactional
+import spock.lang.*
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@SpockSpringTest
+@TestPropertySource(properties = "spock.user.register.strategy=idempotent")
+class UserServiceIdempotentTest extends Specification {
+    @Autowired
+    UserService userService
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    @SpringBean
+    UserAuthRpc userAuthRpc = Mock()
+    @SpringBean
+    RedisLockService redisLockService = Mock()
+
+    @Transactional
+    def "test repeated registration returns the first result"() {
+        given:
+        def request = new UserRegisterRequest(userNo: "zixuwuyou", invitorNo: "1234")
+
+        when:
+        def first = userService.registerUser(request)
+        def second = userService.registerUser(request)
+
+        then:
+        1 * userAuthRpc.queryAuthName("zixuwuyou") >> "子虚乌有"
+        0 * redisLockService._
+        first == "zixuwuyou"
+        second == "zixuwuyou"
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_user WHERE user_no = 'zixuwuyou'", Long) == 1
+    }
+
+    @Transactional
+    def "test registration of an existing user returns it without exception"() {
+        when:
+        def userNo = userService.registerUser(new UserRegisterRequest(userNo: "jack", invitorNo: "1234"))
+
+        then:
+        1 * userAuthRpc.queryAuthName("jack") >> "杰克"
+        userNo == "jack"
+        notThrown(Exception)
+    }
+
+    @Transactional
+    def "test idempotency key maps retries to the first user"() {
+        when:
+        def first = userService.registerUser(new UserRegisterRequest(userNo: "zixuwuyou", invitorNo: "1234", idempotencyKey: "req-1"))
+        def retry = userService.registerUser(new UserRegisterRequest(userNo: "wuming", invitorNo: "1234", idempotencyKey: "req-1"))
+
+        then:
+        1 * userAuthRpc.queryAuthName("zixuwuyou") >> "子虚乌有"
+        0 * userAuthRpc.queryAuthName("wuming")
+        first == "zixuwuyou"
+        retry == "zixuwuyou"
+    }
+
+    def "test not authenticated user is rejected"() {
+        when:
+        userService.registerUser(new UserRegisterRequest(userNo: "wuming", invitorNo: "1234"))
+
+        then:
+        1 * userAuthRpc.queryAuthName("wuming") >> ""
+        def e = thrown(IllegalStateException)
+        e.message == "用户未认证"
+    }
+
+    def "test async registration uses the idempotent strategy"() {
+        given:
+        def request = new UserRegisterRequest(userNo: "zixuwuyou", invitorNo: "1234")
+
+        when:
+        def first = userService.registerUserAsync(request).join()
+        def second = userService.registerUserAsync(request).join()
+
+        then:
+        1 * userAuthRpc.queryAuthName("zixuwuyou") >> "子虚乌有"
+        0 * redisLockService._
+        first == "zixuwuyou"
+        second == "zixuwuyou"
+
+        cleanup:
+        jdbcTemplate.update("DELETE FROM sys_user WHERE user_no = 'zixuwuyou'")
+        jdbcTemplate.update("DELETE FROM sys_idempotency WHERE biz_no = 'zixuwuyou'")
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * @(#)UserServiceMetricsTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.service
+
+import io.github.howiefh.spock.SpockSpringTest
+import io.github.howiefh.spock.cache.RedisLockService
+import io.github.howiefh.spock.domain.User
+import io.github.howiefh.spock.rpc.UserAuthRpc
+import io.micrometer.core.instrument.MeterRegistry
+import org.spockframework.spring.SpringBean
+import org.springframework.beans.factory.annotation.Autowired
+import spock.lang.*
+
+import java.util.concurrent.locks.Lock
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@SpockSpringTest
+class UserServiceMetricsTest extends Specification {
+    @Autowired
+    UserService userService
+    @Autowired
+    MeterRegistry meterRegistry
+
+    @SpringBean
+    UserAuthRpc userAuthRpc = Mock()
+    @SpringBean
+    RedisLockService redisLockService = Mock()
+
+    def "test registration rejected by the lock is timed"() {
+        given:
+        Lock lock = Mock()
+        def timer = meterRegistry.get("user.register.phase").tag("phase", "total").timer()
+        long before = timer.count()
+
+        when:
+        def userNo = userService.registerUser(new User(userNo: "zixuwuyou"))
+
+        then:
+        1 * redisLockService.getLock("zixuwuyou") >> lock
+        1 * lock.tryLock() >> false
+        0 * userAuthRpc._
+        userNo == "zixuwuyou"
+        timer.count() == before + 1
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * @(#)UserServicePageTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.service
+
+import io.github.howiefh.spock.SpockSpringTest
+import io.github.howiefh.spock.config.UserPageProperties
+import io.github.howiefh.spock.dao.UserDao
+import io.github.howiefh.spock.domain.PageInfo
+import io.github.howiefh.spock.domain.User
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.transaction.annotation.Transactional
+import spock.lang.*
+
+import static io.github.howiefh.spock.config.UserPageProperties.CountMode.CACHED
+import static io.github.howiefh.spock.config.UserPageProperties.CountMode.EXACT
+import static io.github.howiefh.spock.config.UserPageProperties.CountMode.NONE
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@SpockSpringTest
+@Transactional
+class UserServicePageTest extends Specification {
+    @Autowired
+    UserService userService
+    @Autowired
+    UserDao userDao
+    @Autowired
+    UserPageProperties userPageProperties
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    UserPageProperties.CountMode defaultMode
+
+    def setup() {
+        defaultMode = userPageProperties.countMode
+        // 以创建者区分本用例写入的用户，不受其他用例遗留数据的影响
+        save("pagejack")
+        save("pagerose")
+        save("pagetom")
+    }
+
+    def cleanup() {
+        userPageProperties.countMode = defaultMode
+    }
+
+    void save(String userNo) {
+        User user = new User(userNo: userNo, userName: userNo, gender: 1, createdBy: "page", modifiedBy: "page")
+        user.init()
+        userDao.save(user)
+    }
+
+    PageInfo<User> page(int pageNum) {
+        userService.queryUserByPage(new PageInfo<User>(pageNum: pageNum, pageSize: 2), new User(createdBy: "page"))
+    }
+
+    @Unroll
+    def "test count mode #mode page #pageNum -> total=#total, hasNext=#hasNext, size=#size"() {
+        given:
+        userPageProperties.countMode = mode
+
+        when:
+        def pageInfo = page(pageNum)
+
+        then:
+        pageInfo.total == total
+        pageInfo.hasNext == hasNext
+        pageInfo.items.size() == size
+
+        where:
+        mode   | pageNum || total | hasNext | size
+        EXACT  | 1       || 3     | true    | 2
+        EXACT  | 2       || 3     | false   | 1
+        EXACT  | 3       || 3     | false   | 0
+        CACHED | 1       || 3     | true    | 2
+        CACHED | 2       || 3     | false   | 1
+        NONE   | 1       || -1    | true    | 2
+        NONE   | 2       || -1    | false   | 1
+        NONE   | 3       || -1    | false   | 0
+    }
+
+    def "test cached count is reused until a user is written"() {
+        given:
+        userPageProperties.countMode = CACHED
+
+        expect:
+        page(1).total == 3
+
+        when: "绕过 DAO 写入，缓存不失效"
+        jdbcTemplate.update("INSERT INTO sys_user (user_no, user_name, created_by, created_date) VALUES ('pagejdbc', 'pagejdbc', 'page', now())")
+
+        then:
+        page(1).total == 3
+
+        when: "通过 DAO 写入，缓存失效"
+        save("pagejerry")
+
+        then:
+        page(1).total == 5
+    }
+
+    def "test exact count reflects every write"() {
+        given:
+        userPageProperties.countMode = EXACT
+
+        when:
+        jdbcTemplate.update("INSERT INTO sys_user (user_no, user_name, created_by, created_date) VALUES ('pagejdbc', 'pagejdbc', 'page', now())")
+
+        then:
+        page(1).total == 4
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * @(#)UserStatisticsServiceTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.service
+
+import io.github.howiefh.spock.SpockSpringTest
+import io.github.howiefh.spock.cache.RedisLockService
+import io.github.howiefh.spock.domain.User
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.data.redis.core.StringRedisTemplate
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.transaction.annotation.Transactional
+import spock.lang.*
+
+import java.util.concurrent.CountDownLatch
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@SpockSpringTest
+class UserStatisticsServiceTest extends Specification {
+    @Autowired
+    UserStatisticsService userStatisticsService
+    @Autowired
+    StringRedisTemplate redisTemplate
+    @Autowired
+    RedisLockService redisLockService
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    def setup() {
+        redisTemplate.delete([UserStatisticsService.MALE_KEY, UserStatisticsService.FEMALE_KEY])
+    }
+
+    def "test query reconciles when counters are missing"() {
+        when:
+        def statistics = userStatisticsService.queryStatistics()
+
+        then:
+        statistics.male == 1
+        statistics.female == 0
+        redisTemplate.opsForValue().get(UserStatisticsService.MALE_KEY) == "1"
+    }
+
+    def "test counters are maintained incrementally"() {
+        given:
+        userStatisticsService.reconcile()
+
+        when:
+        userStatisticsService.afterWrite("save", new User(gender: User.FEMALE), 1)
+        userStatisticsService.afterWrite("saveAll", [collection: [new User(gender: User.MALE), new User(gender: User.FEMALE)]], 2)
+        userStatisticsService.onChanged(new User(gender: User.MALE), new User(gender: User.FEMALE))
+        userStatisticsService.onChanged(new User(gender: User.FEMALE), null)
+        def statistics = userStatisticsService.queryStatistics()
+
+        then:
+        statistics.male == 1
+        statistics.female == 2
+    }
+
+    def "test increments are skipped before reconcile"() {
+        when:
+        userStatisticsService.afterWrite("save", new User(gender: User.FEMALE), 1)
+
+        then:
+        redisTemplate.opsForValue().get(UserStatisticsService.FEMALE_KEY) == null
+    }
+
+    @Transactional
+    def "test reconcile of an empty table sets zero counters"() {
+        given:
+        jdbcTemplate.update("UPDATE sys_user SET delete_flag = 1")
+
+        when:
+        def statistics = userStatisticsService.reconcile()
+
+        then:
+        statistics.male == 0
+        statistics.female == 0
+        redisTemplate.opsForValue().multiGet([UserStatisticsService.MALE_KEY, UserStatisticsService.FEMALE_KEY]) == ["0", "0"]
+    }
+
+    def "test reconcile does not write while another node holds the lock"() {
+        given:
+        def locked = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def holder = Thread.start {
+            def lock = redisLockService.getLock(UserStatisticsService.RECONCILE_LOCK)
+            lock.lock()
+            try {
+                locked.countDown()
+                release.await()
+            } finally {
+                lock.unlock()
+            }
+        }
+        locked.await()
+
+        when:
+        def statistics = userStatisticsService.reconcile()
+
+        then:
+        statistics.male == 1
+        redisTemplate.opsForValue().get(UserStatisticsService.MALE_KEY) == null
+
+        cleanup:
+        release.countDown()
+        holder.join()
+    }
+}
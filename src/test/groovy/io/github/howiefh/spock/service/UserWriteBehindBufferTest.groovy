@@ -0,0 +1,150 @@
+/*
+ * @(#)UserWriteBehindBufferTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.service
+
+import io.github.howiefh.spock.SpockSpringTest
+import io.github.howiefh.spock.domain.User
+import io.github.howiefh.spock.facade.dto.UserRegisterRequest
+import io.github.howiefh.spock.rpc.UserAuthRpc
+import io.micrometer.core.instrument.MeterRegistry
+import org.spockframework.spring.SpringBean
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.data.redis.core.StringRedisTemplate
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.test.context.TestPropertySource
+import spock.lang.*
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CompletionException
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+@SpockSpringTest
+@TestPropertySource(properties = ["spock.user.register.write-behind.enabled=true",
+        "spock.user.register.write-behind.wal-directory=target/test-wal",
+        "spock.user.register.write-behind.dead-letter-directory=target/test-wal-dead-letter"])
+class UserWriteBehindBufferTest extends Specification {
+    @Autowired
+    UserService userService
+    @Autowired
+    UserWriteBehindBuffer userWriteBehindBuffer
+    @Autowired
+    JdbcTemplate jdbcTemplate
+    @Autowired
+    StringRedisTemplate redisTemplate
+    @Autowired
+    MeterRegistry meterRegistry
+
+    @SpringBean
+    UserAuthRpc userAuthRpc = Mock()
+
+    def cleanup() {
+        jdbcTemplate.update("DELETE FROM sys_user WHERE user_no LIKE 'writebehind%'")
+        redisTemplate.delete((1..6).collect { "spock:user:pending:writebehind" + it })
+    }
+
+    def "test registration is written to database in background"() {
+        given:
+        userAuthRpc.queryAuthName(_) >> { String userNo -> userNo.toUpperCase() }
+
+        when:
+        userService.registerUser(new UserRegisterRequest(userNo: "writebehind1", invitorNo: "1234"))
+        userService.registerUser(new UserRegisterRequest(userNo: "writebehind2", invitorNo: "1234"))
+
+        then:
+        userService.queryUser("writebehind1").userName == "WRITEBEHIND1"
+        new PollingConditions(timeout: 5).eventually {
+            assert jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_user WHERE user_no IN ('writebehind1', 'writebehind2')", Long) == 2
+            assert userWriteBehindBuffer.getPending("writebehind1") == null
+        }
+        userService.queryUser("writebehind1").id != null
+    }
+
+    def "test registration of an existing user is rejected before buffering"() {
+        when:
+        userService.registerUser(new UserRegisterRequest(userNo: "jack", invitorNo: "1234"))
+
+        then:
+        1 * userAuthRpc.queryAuthName("jack") >> "杰克"
+        def e = thrown(IllegalStateException)
+        e.message == "记录已存在"
+        userWriteBehindBuffer.getPending("jack") == null
+    }
+
+    def "test async registration is buffered and sees pending users"() {
+        given:
+        userAuthRpc.queryAuthName(_) >> { String userNo -> userNo.toUpperCase() }
+        def request = new UserRegisterRequest(userNo: "writebehind3", invitorNo: "1234")
+
+        when:
+        def userNo = userService.registerUserAsync(request).join()
+
+        then:
+        userNo == "writebehind3"
+        userWriteBehindBuffer.getPending("writebehind3") != null || userService.queryUser("writebehind3").id != null
+
+        when:
+        userService.registerUserAsync(request).join()
+
+        then:
+        def e = thrown(CompletionException)
+        e.cause.message == "记录已存在"
+    }
+
+    def "test poison row is dead-lettered without blocking the rest of the batch"() {
+        given:
+        User poison = new User(userNo: "writebehind4", userName: "x" * 100, gender: 1, createdBy: "sys", modifiedBy: "sys")
+        poison.init()
+        User healthy = new User(userNo: "writebehind5", userName: "WRITEBEHIND5", gender: 1, createdBy: "sys", modifiedBy: "sys")
+        healthy.init()
+        double before = meterRegistry.get("user.register.dead.letter").counter().count()
+
+        when:
+        userWriteBehindBuffer.add(poison)
+        userWriteBehindBuffer.add(healthy)
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert userWriteBehindBuffer.getPending("writebehind4") == null
+            assert userWriteBehindBuffer.getPending("writebehind5") == null
+        }
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_user WHERE user_no = 'writebehind5'", Long) == 1
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys_user WHERE user_no = 'writebehind4'", Long) == 0
+        meterRegistry.get("user.register.dead.letter").counter().count() == before + 1
+        !redisTemplate.hasKey("spock:user:pending:writebehind4")
+        !redisTemplate.hasKey("spock:user:pending:writebehind5")
+    }
+
+    def "test user pending on another node is rejected"() {
+        given:
+        userAuthRpc.queryAuthName(_) >> { String userNo -> userNo.toUpperCase() }
+        redisTemplate.opsForValue().set("spock:user:pending:writebehind6", "other-node")
+
+        when:
+        userService.registerUser(new UserRegisterRequest(userNo: "writebehind6", invitorNo: "1234"))
+
+        then:
+        def e = thrown(IllegalStateException)
+        e.message == "记录已存在"
+        userWriteBehindBuffer.getPending("writebehind6") == null
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * @(#)WriteAheadLogTest 1.0 2026/10/17
+ *
+ * Copyright 2026 Feng Hao.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.howiefh.spock.wal
+
+import spock.lang.*
+
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+/**
+ *
+ * @author fenghao
+ * @version 1.0
+ * @since 2026/10/17
+ */
+class WriteAheadLogTest extends Specification {
+    @TempDir
+    Path directory
+
+    def "test records after checkpoint are replayed across segments"() {
+        given:
+        def wal = new WriteAheadLog(directory, 64, false)
+        def positions = (0..<10).collect { wal.append("record$it".bytes) }
+        wal.checkpoint(positions[3])
+        wal.close()
+
+        when:
+        def reopened = new WriteAheadLog(directory, 64, false)
+        def records = reopened.replay().collect { new String(it) }
+
+        then:
+        records == (4..<10).collect { "record$it".toString() }
+
+        when:
+        reopened.checkpoint(reopened.position())
+        reopened.close()
+
+        then:
+        new WriteAheadLog(directory, 64, false).replay().isEmpty()
+        // 只保留检查点所在的段和最后一次启动时新建的段
+        Files.list(directory).filter { it.fileName.toString().endsWith(".wal") }.count() == 2
+    }
+
+    def "test torn record at the tail is discarded"() {
+        given:
+        def wal = new WriteAheadLog(directory, 1024, false)
+        wal.append("jack".bytes)
+        def position = wal.append("rose".bytes)
+        wal.close()
+        Path segment = Files.list(directory).find { it.fileName.toString().endsWith(".wal") }
+        FileChannel.open(segment, StandardOpenOption.WRITE).withCloseable {
+            // 长度已写入，内容只写入一部分
+            it.write(ByteBuffer.allocate(10).putInt(8).putInt(0).put("to".bytes).flip(), position.offset)
+        }
+
+        expect:
+        new WriteAheadLog(directory, 1024, false).replay().collect { new String(it) } == ["jack", "rose"]
+    }
+
+    def "test record larger than segment is rejected"() {
+        given:
+        def wal = new WriteAheadLog(directory, 16, false)
+
+        when:
+        wal.append(new byte[16])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}